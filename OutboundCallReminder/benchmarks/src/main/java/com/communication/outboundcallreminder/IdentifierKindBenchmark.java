@@ -0,0 +1,35 @@
+package com.communication.outboundcallreminder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/// <summary>
+/// Cost of OutboundCallReminder.getIdentifierKind for a user id, a phone number and an unknown identifier.
+/// It is declared in the sample's package, not in the benchmarks package, so it can call the package-private method.
+/// Run it on two revisions to compare them: java -jar target/benchmarks.jar IdentifierKindBenchmark -prof gc
+/// </summary>
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdentifierKindBenchmark {
+    @Param({ "8:acs:ab12b0ea-85ea-4f83-b0b6-84d90209c7c4_00000009-bce0-da09-54b7-a43a0d0011aa", "+14255550123", "not-an-identifier" })
+    public String participant;
+
+    @Benchmark
+    public CommunicationIdentifierKind getIdentifierKind() {
+        return OutboundCallReminder.getIdentifierKind(participant);
+    }
+}
@@ -0,0 +1,92 @@
+package com.communication.outboundcallreminder.benchmarks;
+
+import com.communication.outboundcallreminder.CallFlowExecutor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/// <summary>
+/// Runs many simulated call flows at once on each CallFlowExecutor thread mode and reports
+/// throughput, peak thread count and peak heap. Each simulated call makes blocking requests
+/// (sleeps) and blocks while it waits for its events, like a call flow that holds its thread.
+/// Run the VIRTUAL mode on Java 21, ideally one mode per JVM:
+/// java -cp target/benchmarks.jar com.communication.outboundcallreminder.benchmarks.CallFlowThreadModeSimulation [PLATFORM|THREAD_PER_CALL|VIRTUAL] [calls]
+/// </summary>
+public class CallFlowThreadModeSimulation {
+    private static final int REQUESTS_PER_CALL = 4;
+    private static final long REQUEST_MILLIS = 50;
+    private static final long EVENT_WAIT_MILLIS = 1000;
+
+    public static void main(String[] args) throws Exception {
+        String[] modes = args.length > 0 ? new String[] { args[0].toUpperCase() } : new String[] { "PLATFORM", "THREAD_PER_CALL", "VIRTUAL" };
+        int calls = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+
+        for (String mode : modes) {
+            run(mode, calls);
+        }
+    }
+
+    private static void run(String mode, int calls) throws InterruptedException {
+        ExecutorService executor;
+        if (mode.equals("THREAD_PER_CALL")) {
+            executor = Executors.newCachedThreadPool();
+        } else {
+            executor = CallFlowExecutor.createExecutor(CallFlowExecutor.ThreadMode.valueOf(mode), Runtime.getRuntime().availableProcessors() * 4);
+        }
+        ScheduledExecutorService events = Executors.newSingleThreadScheduledExecutor();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+        threads.resetPeakThreadCount();
+
+        AtomicLong peakHeap = new AtomicLong(baselineHeap);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 10, TimeUnit.MILLISECONDS);
+
+        CountDownLatch finished = new CountDownLatch(calls);
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            executor.execute(() -> {
+                try {
+                    simulateCall(events);
+                } catch (Exception ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    finished.countDown();
+                }
+            });
+        }
+        finished.await();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        sampler.shutdownNow();
+        events.shutdownNow();
+        executor.shutdownNow();
+
+        System.out.printf("%-16s calls=%d elapsed=%d ms throughput=%.0f calls/s peakThreads=%d peakHeapDelta=%d MB%n",
+                mode, calls, elapsedMillis, calls * 1000.0 / Math.max(1, elapsedMillis), threads.getPeakThreadCount(),
+                (peakHeap.get() - baselineHeap) / (1024 * 1024));
+    }
+
+    private static void simulateCall(ScheduledExecutorService events) throws Exception {
+        for (int request = 0; request < REQUESTS_PER_CALL; request++) {
+            Thread.sleep(REQUEST_MILLIS);
+        }
+
+        // Wait for the call's events while holding the thread
+        CompletableFuture<Void> eventReceived = new CompletableFuture<>();
+        events.schedule(() -> eventReceived.complete(null), EVENT_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        eventReceived.get();
+    }
+}
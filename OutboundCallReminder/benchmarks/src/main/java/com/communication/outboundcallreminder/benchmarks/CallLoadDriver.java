@@ -0,0 +1,162 @@
+package com.communication.outboundcallreminder.benchmarks;
+
+import com.communication.outboundcallreminder.CallConfiguration;
+import com.communication.outboundcallreminder.CallState;
+import com.communication.outboundcallreminder.CallingServerClientProvider;
+import com.communication.outboundcallreminder.ConfigurationManager;
+import com.communication.outboundcallreminder.Controllers.OutboundCallController;
+import com.communication.outboundcallreminder.EventHandler.CallbackAuthFilter;
+import com.communication.outboundcallreminder.EventHandler.EventAuthHandler;
+import com.communication.outboundcallreminder.Logger;
+import com.communication.outboundcallreminder.OutboundCallReminder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/// <summary>
+/// Drives the real OutboundCallReminder call flow against FakeCallingService, fully offline.
+/// Callbacks are received by a local server that hands them to OutboundCallController like the web app does.
+/// The number of calls in flight is ramped through the given stages; each stage reports throughput,
+/// call duration percentiles, final call states, peak thread count and peak heap.
+/// Usage: java -cp target/benchmarks.jar com.communication.outboundcallreminder.benchmarks.CallLoadDriver
+///        [concurrency stages, e.g. 10,50,100] [calls per stage] [FakeCallingService options, e.g. toneMillis=200 toneRate=0.5]
+/// </summary>
+public class CallLoadDriver {
+    private static final String CALLBACK_PATH = "/api/outboundcall/callback";
+
+    public static void main(String[] args) throws Exception {
+        String[] stages = (args.length > 0 ? args[0] : "10,50,100,200").split(",");
+        int callsPerStage = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        FakeCallingService.Options options = FakeCallingService.Options.parse(args, Math.min(args.length, 2));
+
+        // Keep the call flow quiet and short: no per call logging, no waiting minutes on timeouts
+        ConfigurationManager configuration = ConfigurationManager.getInstance();
+        configuration.setAppSettings("LogLevel", "ERROR");
+        Logger.configure();
+
+        FakeCallingService callingService = new FakeCallingService(options);
+        HttpServer callbackServer = startCallbackServer();
+        CallingServerClientProvider clientProvider = new CallingServerClientProvider(callingService.getConnectionString());
+
+        String appBaseUrl = "http://127.0.0.1:" + callbackServer.getAddress().getPort();
+        CallConfiguration callConfiguration = new CallConfiguration(callingService.getConnectionString(),
+                "8:acs:load-driver-source", "+15550000000", appBaseUrl, "sample-message.wav", "2");
+        callConfiguration.playAudioTimeoutSeconds = 5;
+        callConfiguration.toneReceivedTimeoutSeconds = 5;
+        callConfiguration.addParticipantTimeoutSeconds = 5;
+        callConfiguration.postTransferHoldSeconds = 0;
+
+        System.out.println("Fake calling service: " + options);
+        System.out.println(String.format("%-12s %10s %10s %10s %10s %10s %8s %10s  %s", "concurrency", "calls/s",
+                "p50 ms", "p99 ms", "max ms", "failed", "threads", "heap MB", "final states"));
+        try {
+            for (String stage : stages) {
+                runStage(Integer.parseInt(stage.trim()), callsPerStage, callConfiguration, clientProvider);
+            }
+        } finally {
+            System.out.println("Fake calling service counts: " + callingService.getCounts());
+            callbackServer.stop(0);
+            callingService.stop();
+        }
+        System.exit(0);
+    }
+
+    private static HttpServer startCallbackServer() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2, (task) -> {
+            Thread thread = new Thread(task, "load-driver-callback");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext(CALLBACK_PATH, CallLoadDriver::onCallback);
+        server.setExecutor(executor);
+        server.start();
+        return server;
+    }
+
+    private static void onCallback(HttpExchange exchange) throws IOException {
+        String body;
+        try (InputStream input = exchange.getRequestBody()) {
+            body = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // The servlet filter is not in front of this server, so check the secret like it does
+        String secret = CallbackAuthFilter.getQueryParameter(exchange.getRequestURI().getRawQuery(), "secret");
+        if (!EventAuthHandler.getInstance().authorize(secret)) {
+            exchange.sendResponseHeaders(401, -1);
+            exchange.close();
+            return;
+        }
+        byte[] response = OutboundCallController.onIncomingRequestAsync(body).getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(response);
+        }
+    }
+
+    private static void runStage(int concurrency, int calls, CallConfiguration callConfiguration,
+            CallingServerClientProvider clientProvider) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        threads.resetPeakThreadCount();
+        AtomicLong peakHeap = new AtomicLong(memory.getHeapMemoryUsage().getUsed());
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 10, TimeUnit.MILLISECONDS);
+
+        Recorder durations = new Recorder(TimeUnit.HOURS.toMillis(1), 3);
+        Map<CallState, LongAdder> finalStates = new ConcurrentHashMap<>();
+        LongAdder failed = new LongAdder();
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch finished = new CountDownLatch(calls);
+
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            inFlight.acquire();
+            String target = String.format("+1555%07d", concurrency * 100000L + i);
+            OutboundCallReminder call = new OutboundCallReminder(callConfiguration, clientProvider.getClient());
+            long callStartNanos = System.nanoTime();
+            call.reportAsync(target, "+15559999999").whenComplete((result, ex) -> {
+                durations.recordValue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - callStartNanos));
+                CallState state = call.getCallState();
+                finalStates.computeIfAbsent(state, (key) -> new LongAdder()).increment();
+                if (state == CallState.FAILED) {
+                    failed.increment();
+                }
+                inFlight.release();
+                finished.countDown();
+            });
+        }
+        finished.await();
+        long elapsedNanos = System.nanoTime() - startNanos;
+        sampler.shutdownNow();
+
+        Histogram histogram = durations.getIntervalHistogram();
+        Map<CallState, Long> states = new EnumMap<>(CallState.class);
+        finalStates.forEach((state, count) -> states.put(state, count.sum()));
+        System.out.println(String.format("%-12d %10.1f %10d %10d %10d %10d %8d %10d  %s", concurrency,
+                calls / (elapsedNanos / 1e9), histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(99),
+                histogram.getMaxValue(), failed.sum(), threads.getPeakThreadCount(), peakHeap.get() / (1024 * 1024), states));
+    }
+}
@@ -0,0 +1,57 @@
+package com.communication.outboundcallreminder.benchmarks;
+
+import com.azure.communication.callingserver.models.events.CallingServerEventBase;
+import com.communication.outboundcallreminder.EventHandler.EventDispatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/// <summary>
+/// Cost of turning a callback delivery into routed events: parsing and deserializing the CloudEvents
+/// (extractEvents), then building the key of each event (getEventKey).
+/// Run with "-prof gc" to see the bytes allocated per delivery (gc.alloc.rate.norm).
+/// </summary>
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CallbackParsingBenchmark {
+    @Param({ "call-connected", "tone-received", "play-audio-completed", "add-participant-completed", "batch" })
+    public String payload;
+
+    private EventDispatcher dispatcher;
+    private String delivery;
+
+    @Setup
+    public void setup() {
+        dispatcher = EventDispatcher.getInstance();
+        // extractEvents does not look at event ids, so replaying the same delivery measures a full parse every time
+        delivery = CallbackPayloads.load(payload);
+    }
+
+    @Benchmark
+    public List<CallingServerEventBase> extractEvents() {
+        return dispatcher.extractEvents(delivery);
+    }
+
+    @Benchmark
+    public void extractAndRoute(Blackhole blackhole) {
+        for (CallingServerEventBase callEvent : dispatcher.extractEvents(delivery)) {
+            blackhole.consume(dispatcher.getEventKey(callEvent));
+        }
+    }
+}
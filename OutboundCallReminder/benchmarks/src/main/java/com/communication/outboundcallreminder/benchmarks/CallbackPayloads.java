@@ -0,0 +1,59 @@
+package com.communication.outboundcallreminder.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/// <summary>
+/// CloudEvent deliveries in the shape the calling service posts to the callback, loaded from
+/// src/main/resources/payloads. Benchmarks going through processNotification replay variants with fresh
+/// event ids, since it drops redelivered ids and replaying one payload would only measure that shortcut.
+/// </summary>
+final class CallbackPayloads {
+    /// Number of variants per payload; more than the ids a dispatcher built with DEDUP_MAX_ENTRIES remembers
+    static final int VARIANT_COUNT = 4096;
+    /// Event ids remembered by the benchmarks' dispatcher, so VARIANT_COUNT payloads replayed in a loop are
+    /// never seen as redeliveries while deduplication still costs what it costs in production
+    static final int DEDUP_MAX_ENTRIES = 1024;
+
+    /// Id of a CloudEvent (the identifiers inside event data have "id" fields too)
+    private static final Pattern EVENT_ID = Pattern.compile("\"id\":\"[^\"]*\"(?=,\"source\")");
+    private static final Pattern CALL_CONNECTION_ID = Pattern.compile("411f0b00-7a4e-4a8f-9c9e-2d5b7a7d3c11");
+
+    private CallbackPayloads() {
+    }
+
+    static String load(String name) {
+        try (InputStream input = CallbackPayloads.class.getResourceAsStream("/payloads/" + name + ".json")) {
+            if (input == null) {
+                throw new IllegalArgumentException("No payload named " + name);
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /// <summary>
+    /// Variants of a payload with unique event ids, all for the given call connection id
+    /// </summary>
+    static String[] variants(String name, String callConnectionId) {
+        String payload = CALL_CONNECTION_ID.matcher(load(name)).replaceAll(callConnectionId);
+        String[] variants = new String[VARIANT_COUNT];
+        for (int i = 0; i < VARIANT_COUNT; i++) {
+            // Every event of a batch needs its own id
+            Matcher eventIds = EVENT_ID.matcher(payload);
+            StringBuilder variant = new StringBuilder(payload.length());
+            while (eventIds.find()) {
+                eventIds.appendReplacement(variant, Matcher.quoteReplacement("\"id\":\"" + UUID.randomUUID() + "\""));
+            }
+            eventIds.appendTail(variant);
+            variants[i] = variant.toString();
+        }
+        return variants;
+    }
+}
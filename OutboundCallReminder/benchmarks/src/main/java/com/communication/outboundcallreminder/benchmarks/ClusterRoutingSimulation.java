@@ -0,0 +1,178 @@
+package com.communication.outboundcallreminder.benchmarks;
+
+import com.communication.outboundcallreminder.Cluster.ClusterMembership;
+import com.communication.outboundcallreminder.Cluster.HashRing;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/// <summary>
+/// Simulates a cluster of reminder nodes on this machine. It reports how evenly the hash ring
+/// spreads call keys, how many keys move when a node joins, and the latency a forwarded
+/// callback adds compared with one that reaches its owner directly.
+/// Usage: java -cp target/benchmarks.jar com.communication.outboundcallreminder.benchmarks.ClusterRoutingSimulation [nodes] [callbacks]
+/// </summary>
+public class ClusterRoutingSimulation {
+    private static final int VIRTUAL_NODES = 256;
+    private static final String CALLBACK_PATH = "/api/outboundcall/callback";
+    private static final String FORWARDED_HEADER = "X-Callback-Forwarded-By";
+    private static final byte[] CALLBACK_BODY = ("[{\"id\":\"0\",\"type\":\"Microsoft.Communication.ToneReceived\","
+            + "\"data\":{\"toneInfo\":{\"sequenceId\":1,\"tone\":\"tone1\"},\"callConnectionId\":\"0\"}}]").getBytes(StandardCharsets.UTF_8);
+
+    public static void main(String[] args) throws Exception {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int callbackCount = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            keys.add("+1425" + (1000000 + i) + ",+1206" + (1000000 + i));
+        }
+        reportBalance(nodeCount, keys);
+        simulateForwarding(nodeCount, callbackCount, keys);
+    }
+
+    private static List<String> nodeIds(int nodeCount) {
+        List<String> nodeIds = new ArrayList<>();
+        for (int i = 1; i <= nodeCount; i++) {
+            nodeIds.add("node" + i);
+        }
+        return nodeIds;
+    }
+
+    private static void reportBalance(int nodeCount, List<String> keys) {
+        HashRing ring = new HashRing(nodeIds(nodeCount), VIRTUAL_NODES);
+        HashRing grownRing = new HashRing(nodeIds(nodeCount + 1), VIRTUAL_NODES);
+
+        Map<String, Integer> keysPerNode = new LinkedHashMap<>();
+        int movedKeys = 0;
+        for (String key : keys) {
+            String owner = ring.ownerOf(key);
+            keysPerNode.merge(owner, 1, Integer::sum);
+            if (!owner.equals(grownRing.ownerOf(key))) {
+                movedKeys++;
+            }
+        }
+
+        System.out.println("Keys per node (ideal " + keys.size() / nodeCount + "): " + keysPerNode);
+        System.out.printf("Keys moved when node%d joins: %.1f%% (ideal %.1f%%)%n", nodeCount + 1,
+                100.0 * movedKeys / keys.size(), 100.0 / (nodeCount + 1));
+    }
+
+    private static void simulateForwarding(int nodeCount, int callbackCount, List<String> keys) throws Exception {
+        List<HttpServer> servers = new ArrayList<>();
+        StringBuilder clusterNodes = new StringBuilder();
+        for (String nodeId : nodeIds(nodeCount)) {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            servers.add(server);
+            clusterNodes.append(clusterNodes.length() > 0 ? "," : "").append(nodeId).append("=http://127.0.0.1:")
+                    .append(server.getAddress().getPort());
+        }
+
+        Map<String, String> nodeUrls = ClusterMembership.parseNodes(clusterNodes.toString());
+        HashRing ring = new HashRing(nodeUrls.keySet(), VIRTUAL_NODES);
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        AtomicLong forwardedCount = new AtomicLong();
+
+        List<String> nodeIds = new ArrayList<>(nodeUrls.keySet());
+        ExecutorService executor = Executors.newFixedThreadPool(8 * nodeCount);
+        for (int i = 0; i < servers.size(); i++) {
+            String localNodeId = nodeIds.get(i);
+            HttpServer server = servers.get(i);
+            server.setExecutor(executor);
+            // Same decision as CallbackForwarder: handle locally, or stream the body to the owner once
+            server.createContext(CALLBACK_PATH, (exchange) -> {
+                String query = exchange.getRequestURI().getRawQuery();
+                String callKey = java.net.URLDecoder.decode(query.substring(query.indexOf("callKey=") + 8), StandardCharsets.UTF_8);
+                String owner = ring.ownerOf(callKey);
+                int status = 200;
+                if (!owner.equals(localNodeId) && exchange.getRequestHeaders().getFirst(FORWARDED_HEADER) == null) {
+                    forwardedCount.incrementAndGet();
+                    InputStream body = exchange.getRequestBody();
+                    HttpRequest forwardedRequest = HttpRequest.newBuilder(URI.create(nodeUrls.get(owner) + CALLBACK_PATH + "?" + query))
+                            .header(FORWARDED_HEADER, localNodeId)
+                            .POST(HttpRequest.BodyPublishers.ofInputStream(() -> body))
+                            .build();
+                    try {
+                        status = httpClient.send(forwardedRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        status = 503;
+                    }
+                } else {
+                    exchange.getRequestBody().readAllBytes();
+                }
+                exchange.sendResponseHeaders(status, -1);
+                exchange.close();
+            });
+            server.start();
+        }
+
+        try {
+            // Warm up the connections, then send callbacks to a random node as a load balancer would
+            sendCallbacks(httpClient, nodeUrls, nodeIds, keys, 1000, new Random(1), ring, new ArrayList<>(), new ArrayList<>());
+            forwardedCount.set(0);
+
+            List<Long> directNanos = new ArrayList<>();
+            List<Long> forwardedNanos = new ArrayList<>();
+            sendCallbacks(httpClient, nodeUrls, nodeIds, keys, callbackCount, new Random(2), ring, directNanos, forwardedNanos);
+
+            System.out.println("Callbacks forwarded: " + forwardedCount.get() + " of " + callbackCount);
+            System.out.println("Direct    " + percentiles(directNanos));
+            System.out.println("Forwarded " + percentiles(forwardedNanos));
+        } finally {
+            for (HttpServer server : servers) {
+                server.stop(0);
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    private static void sendCallbacks(HttpClient httpClient, Map<String, String> nodeUrls, List<String> nodeIds, List<String> keys,
+            int callbackCount, Random random, HashRing ring, List<Long> directNanos, List<Long> forwardedNanos)
+            throws IOException, InterruptedException {
+        for (int i = 0; i < callbackCount; i++) {
+            String callKey = keys.get(random.nextInt(keys.size()));
+            String nodeId = nodeIds.get(random.nextInt(nodeIds.size()));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(nodeUrls.get(nodeId) + CALLBACK_PATH + "?secret=simulation&callKey="
+                    + URLEncoder.encode(callKey, StandardCharsets.UTF_8)))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(CALLBACK_BODY))
+                    .build();
+
+            long startNanos = System.nanoTime();
+            httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            long elapsedNanos = System.nanoTime() - startNanos;
+            (nodeId.equals(ring.ownerOf(callKey)) ? directNanos : forwardedNanos).add(elapsedNanos);
+        }
+    }
+
+    private static String percentiles(List<Long> nanos) {
+        if (nanos.isEmpty()) {
+            return "no samples";
+        }
+        long[] sorted = nanos.stream().mapToLong(Long::longValue).sorted().toArray();
+        Map<String, Double> summary = new LinkedHashMap<>();
+        for (double percentile : Arrays.asList(50.0, 90.0, 99.0)) {
+            int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100 * sorted.length) - 1);
+            summary.put("p" + (int) percentile, TimeUnit.NANOSECONDS.toMicros(sorted[Math.max(0, index)]) / 1000.0);
+        }
+        return "latency (ms): " + summary + " over " + sorted.length + " callbacks";
+    }
+}
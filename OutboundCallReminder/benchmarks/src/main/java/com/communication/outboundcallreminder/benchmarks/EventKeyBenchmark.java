@@ -0,0 +1,110 @@
+package com.communication.outboundcallreminder.benchmarks;
+
+import com.azure.communication.callingserver.models.events.AddParticipantResultEvent;
+import com.azure.communication.callingserver.models.events.CallConnectionStateChangedEvent;
+import com.azure.communication.callingserver.models.events.CallingServerEventBase;
+import com.azure.communication.callingserver.models.events.CallingServerEventType;
+import com.azure.communication.callingserver.models.events.PlayAudioResultEvent;
+import com.azure.communication.callingserver.models.events.ToneReceivedEvent;
+import com.azure.core.util.BinaryData;
+import com.communication.outboundcallreminder.EventHandler.EventDispatcher;
+import com.communication.outboundcallreminder.EventHandler.EventKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/// <summary>
+/// Compares the string based event key lookup the dispatcher used to do with the typed EventKey routing.
+/// Run with "-prof gc" to see the bytes allocated per event (gc.alloc.rate.norm).
+/// </summary>
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventKeyBenchmark {
+    private static final int EVENT_COUNT = 1024;
+
+    private final CallingServerEventBase[] events = new CallingServerEventBase[EVENT_COUNT];
+    private final Map<String, Object> legacyTable = new HashMap<>();
+    private final Map<EventKey, Object> typedTable = new HashMap<>();
+    private EventDispatcher dispatcher;
+    private int index;
+
+    @Setup
+    public void setup() {
+        dispatcher = EventDispatcher.getInstance();
+
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            String id = UUID.randomUUID().toString();
+            switch (i % 4) {
+                case 0:
+                    events[i] = CallConnectionStateChangedEvent.deserialize(BinaryData.fromString(
+                            "{\"callConnectionId\":\"" + id + "\",\"serverCallId\":\"server-" + id + "\",\"callConnectionState\":\"connected\"}"));
+                    break;
+                case 1:
+                    events[i] = ToneReceivedEvent.deserialize(BinaryData.fromString(
+                            "{\"callConnectionId\":\"" + id + "\",\"toneInfo\":{\"sequenceId\":1,\"tone\":\"tone1\"}}"));
+                    break;
+                case 2:
+                    events[i] = PlayAudioResultEvent.deserialize(BinaryData.fromString(
+                            "{\"operationContext\":\"" + id + "\",\"status\":\"completed\",\"resultInfo\":{\"code\":200,\"subcode\":0,\"message\":\"Action completed successfully.\"}}"));
+                    break;
+                default:
+                    events[i] = AddParticipantResultEvent.deserialize(BinaryData.fromString(
+                            "{\"operationContext\":\"" + id + "\",\"status\":\"completed\",\"resultInfo\":{\"code\":200,\"subcode\":0,\"message\":\"Action completed successfully.\"}}"));
+                    break;
+            }
+
+            Object subscriber = new Object();
+            legacyTable.put(legacyEventKey(events[i]), subscriber);
+            typedTable.put(dispatcher.getEventKey(events[i]), subscriber);
+        }
+    }
+
+    @Benchmark
+    public Object legacyStringKey() {
+        return legacyTable.get(legacyEventKey(nextEvent()));
+    }
+
+    @Benchmark
+    public Object typedEventKey() {
+        return typedTable.get(dispatcher.getEventKey(nextEvent()));
+    }
+
+    private CallingServerEventBase nextEvent() {
+        index = (index + 1) & (EVENT_COUNT - 1);
+        return events[index];
+    }
+
+    /// The getEventKey implementation the dispatcher used before the typed routing table
+    private static String legacyEventKey(CallingServerEventBase callEventBase) {
+        if (callEventBase.getClass() == CallConnectionStateChangedEvent.class) {
+            String callLegId = ((CallConnectionStateChangedEvent) callEventBase).getCallConnectionId();
+            return CallingServerEventType.CALL_CONNECTION_STATE_CHANGED_EVENT.toString() + "-" + callLegId;
+        } else if (callEventBase.getClass() == ToneReceivedEvent.class) {
+            String callLegId = ((ToneReceivedEvent) callEventBase).getCallConnectionId();
+            return CallingServerEventType.TONE_RECEIVED_EVENT.toString() + "-" + callLegId;
+        } else if (callEventBase.getClass() == PlayAudioResultEvent.class) {
+            String operationContext = ((PlayAudioResultEvent) callEventBase).getOperationContext();
+            return CallingServerEventType.PLAY_AUDIO_RESULT_EVENT.toString() + "-" + operationContext;
+        } else if (callEventBase.getClass() == AddParticipantResultEvent.class) {
+            String operationContext = ((AddParticipantResultEvent) callEventBase).getOperationContext();
+            return CallingServerEventType.ADD_PARTICIPANT_RESULT_EVENT.toString() + "-" + operationContext;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,279 @@
+package com.communication.outboundcallreminder.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/// <summary>
+/// Local stand-in for the calling service. It answers the create call, play audio, cancel media,
+/// add participant and hangup requests of CallingServerClient, and posts the matching CloudEvents
+/// to the callback URL given at call creation, after configurable latencies and with configurable outcomes.
+/// Requests are routed by operation name, so the exact REST paths of the SDK version do not matter.
+/// Responses and events are scheduled, not slept on, so the service itself holds no thread per call.
+/// </summary>
+public class FakeCallingService {
+
+    /// <summary>
+    /// Latencies (milliseconds, jittered by +/- 50%) and outcome rates (0 to 1) of the fake calls
+    /// </summary>
+    public static class Options {
+        public long requestMillis = 20;
+        public long connectMillis = 500;
+        public long toneMillis = 1000;
+        public long transferMillis = 500;
+        public long hangupMillis = 100;
+        public double answerRate = 0.9;
+        public double toneRate = 0.8;
+        public double transferSuccessRate = 0.95;
+
+        /// <summary>
+        /// Parse "name=value" arguments, e.g. connectMillis=200 toneRate=0.5
+        /// </summary>
+        public static Options parse(String[] args, int from) {
+            Options options = new Options();
+            for (int i = from; i < args.length; i++) {
+                String[] pair = args[i].split("=", 2);
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException("Expected name=value -- > " + args[i]);
+                }
+                try {
+                    Options.class.getField(pair[0]).set(options, pair[0].endsWith("Rate")
+                            ? (Object) Double.parseDouble(pair[1]) : (Object) Long.parseLong(pair[1]));
+                } catch (NoSuchFieldException | IllegalAccessException ex) {
+                    throw new IllegalArgumentException("Unknown option -- > " + pair[0]);
+                }
+            }
+            return options;
+        }
+
+        @Override
+        public String toString() {
+            return "requestMillis=" + requestMillis + " connectMillis=" + connectMillis + " toneMillis=" + toneMillis
+                    + " transferMillis=" + transferMillis + " hangupMillis=" + hangupMillis + " answerRate=" + answerRate
+                    + " toneRate=" + toneRate + " transferSuccessRate=" + transferSuccessRate;
+        }
+    }
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String EVENT_PREFIX = "Microsoft.Communication.";
+
+    private final Options options;
+    private final HttpServer server;
+    private final HttpClient callbackClient;
+    private final ScheduledExecutorService scheduler;
+    /// Callback URL of each call connection id
+    private final ConcurrentHashMap<String, String> callbackUrls = new ConcurrentHashMap<>();
+    /// Operation context of the prompt playing on each call connection id
+    private final ConcurrentHashMap<String, String> playOperations = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+    private final AtomicLong eventCount = new AtomicLong();
+    private final AtomicLong failedEventCount = new AtomicLong();
+
+    public FakeCallingService(Options options) throws IOException {
+        this.options = options;
+        scheduler = Executors.newScheduledThreadPool(2, (task) -> {
+            Thread thread = new Thread(task, "fake-calling-service");
+            thread.setDaemon(true);
+            return thread;
+        });
+        callbackClient = HttpClient.newBuilder().executor(scheduler).connectTimeout(Duration.ofSeconds(5)).build();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/", this::handle);
+        server.setExecutor(scheduler);
+        server.start();
+    }
+
+    /// <summary>
+    /// Connection string pointing CallingServerClient at this service
+    /// </summary>
+    public String getConnectionString() {
+        String accessKey = java.util.Base64.getEncoder().encodeToString("fake-access-key".getBytes(StandardCharsets.UTF_8));
+        return "endpoint=http://127.0.0.1:" + server.getAddress().getPort() + "/;accesskey=" + accessKey;
+    }
+
+    public Map<String, Long> getCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        requestCounts.forEach((operation, count) -> counts.put(operation, count.get()));
+        counts.put("events", eventCount.get());
+        counts.put("failedEvents", failedEventCount.get());
+        return counts;
+    }
+
+    public void stop() {
+        server.stop(0);
+        scheduler.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        JsonNode body;
+        try (InputStream input = exchange.getRequestBody()) {
+            byte[] content = input.readAllBytes();
+            body = objectMapper.readTree(content.length > 0 ? content : "{}".getBytes(StandardCharsets.UTF_8));
+        }
+
+        if (path.endsWith("/callConnections")) {
+            createCall(exchange, body);
+        } else if (path.contains("playAudio")) {
+            playAudio(exchange, callConnectionIdOf(path), body);
+        } else if (path.contains("cancelAllMediaOperations")) {
+            cancelAllMediaOperations(exchange, callConnectionIdOf(path), body);
+        } else if (path.contains("participants")) {
+            addParticipant(exchange, callConnectionIdOf(path), body);
+        } else if (path.contains("hangup")) {
+            hangup(exchange, callConnectionIdOf(path));
+        } else {
+            count("unknown");
+            respond(exchange, 404, null);
+        }
+    }
+
+    private void createCall(HttpExchange exchange, JsonNode body) {
+        count("createCall");
+        String callConnectionId = UUID.randomUUID().toString();
+        callbackUrls.put(callConnectionId, body.path("callbackUri").asText());
+        respond(exchange, 201, "{\"callConnectionId\":\"" + callConnectionId + "\"}");
+
+        boolean answered = chance(options.answerRate);
+        later(options.connectMillis, () -> postEvent(callConnectionId, "CallConnectionStateChanged",
+                callStateData(callConnectionId, answered ? "connected" : "disconnected")));
+        if (!answered) {
+            callbackUrls.remove(callConnectionId);
+        }
+    }
+
+    private void playAudio(HttpExchange exchange, String callConnectionId, JsonNode body) {
+        count("playAudio");
+        String operationContext = body.path("operationContext").asText();
+        respond(exchange, 202, operationResult(operationContext, "running"));
+
+        // The prompt loops until the media is cancelled, which the app does once the callee pressed a key
+        playOperations.put(callConnectionId, operationContext);
+        if (chance(options.toneRate)) {
+            later(options.toneMillis, () -> postEvent(callConnectionId, "ToneReceived", "{\"callConnectionId\":\""
+                    + callConnectionId + "\",\"toneInfo\":{\"sequenceId\":1,\"tone\":\"tone1\"}}"));
+        }
+    }
+
+    private void cancelAllMediaOperations(HttpExchange exchange, String callConnectionId, JsonNode body) {
+        count("cancelAllMediaOperations");
+        respond(exchange, 200, operationResult(body.path("operationContext").asText(), "completed"));
+
+        String playOperationContext = playOperations.remove(callConnectionId);
+        if (playOperationContext != null) {
+            later(options.requestMillis, () -> postEvent(callConnectionId, "PlayAudioResult",
+                    operationResult(playOperationContext, "completed")));
+        }
+    }
+
+    private void addParticipant(HttpExchange exchange, String callConnectionId, JsonNode body) {
+        count("addParticipant");
+        String operationContext = body.path("operationContext").asText();
+        respond(exchange, 202, "{\"participantId\":\"" + UUID.randomUUID() + "\"}");
+
+        String status = chance(options.transferSuccessRate) ? "completed" : "failed";
+        later(options.transferMillis, () -> postEvent(callConnectionId, "AddParticipantResult",
+                operationResult(operationContext, status)));
+    }
+
+    private void hangup(HttpExchange exchange, String callConnectionId) {
+        count("hangup");
+        respond(exchange, 202, null);
+        later(options.hangupMillis, () -> {
+            postEvent(callConnectionId, "CallConnectionStateChanged", callStateData(callConnectionId, "disconnected"));
+            callbackUrls.remove(callConnectionId);
+            playOperations.remove(callConnectionId);
+        });
+    }
+
+    private static String callConnectionIdOf(String path) {
+        String marker = "/callConnections/";
+        int start = path.indexOf(marker);
+        if (start < 0) {
+            return "";
+        }
+        start += marker.length();
+        int end = path.indexOf('/', start);
+        return path.substring(start, end < 0 ? path.length() : end);
+    }
+
+    private static String callStateData(String callConnectionId, String state) {
+        return "{\"callConnectionId\":\"" + callConnectionId + "\",\"serverCallId\":\"server-" + callConnectionId
+                + "\",\"callConnectionState\":\"" + state + "\"}";
+    }
+
+    private static String operationResult(String operationContext, String status) {
+        return "{\"operationId\":\"" + UUID.randomUUID() + "\",\"operationContext\":\"" + operationContext
+                + "\",\"status\":\"" + status + "\",\"resultInfo\":{\"code\":200,\"subcode\":0,\"message\":\"\"}}";
+    }
+
+    private void postEvent(String callConnectionId, String type, String data) {
+        String callbackUrl = callbackUrls.get(callConnectionId);
+        if (callbackUrl == null || callbackUrl.isEmpty()) {
+            return;
+        }
+
+        String cloudEvent = "[{\"id\":\"" + UUID.randomUUID() + "\",\"source\":\"calling/callConnections/" + callConnectionId
+                + "\",\"type\":\"" + EVENT_PREFIX + type + "\",\"specversion\":\"1.0\",\"datacontenttype\":\"application/json\",\"data\":"
+                + data + "}]";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(callbackUrl))
+                .header("Content-Type", "application/cloudevents-batch+json; charset=utf-8")
+                .POST(HttpRequest.BodyPublishers.ofString(cloudEvent))
+                .build();
+        eventCount.incrementAndGet();
+        callbackClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, ex) -> {
+            if (ex != null || response.statusCode() >= 300) {
+                failedEventCount.incrementAndGet();
+            }
+        });
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) {
+        later(options.requestMillis, () -> {
+            try {
+                byte[] content = body != null ? body.getBytes(StandardCharsets.UTF_8) : new byte[0];
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(status, content.length > 0 ? content.length : -1);
+                try (OutputStream output = exchange.getResponseBody()) {
+                    output.write(content);
+                }
+            } catch (IOException ex) {
+                exchange.close();
+            }
+        });
+    }
+
+    private void later(long millis, Runnable task) {
+        long jittered = millis <= 0 ? 0 : millis / 2 + ThreadLocalRandom.current().nextLong(millis + 1);
+        scheduler.schedule(task, jittered, TimeUnit.MILLISECONDS);
+    }
+
+    private void count(String operation) {
+        requestCounts.computeIfAbsent(operation, (key) -> new AtomicLong()).incrementAndGet();
+    }
+
+    private static boolean chance(double rate) {
+        return ThreadLocalRandom.current().nextDouble() < rate;
+    }
+}
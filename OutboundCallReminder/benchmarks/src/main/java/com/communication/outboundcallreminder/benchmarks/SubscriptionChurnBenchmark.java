@@ -0,0 +1,127 @@
+package com.communication.outboundcallreminder.benchmarks;
+
+import com.azure.communication.callingserver.models.events.CallingServerEventType;
+import com.communication.outboundcallreminder.EventHandler.EventDispatcher;
+import com.communication.outboundcallreminder.EventHandler.NotificationCallback;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// <summary>
+/// Subscribe/unsubscribe churn on a dispatcher shared by all threads, as when many calls start and end at once.
+/// "subscribeUnsubscribe" runs on 8 threads, each with its own calls. In the "churn" group, 4 threads keep
+/// subscribing and unsubscribing while 4 threads deliver tone callbacks for the same calls.
+/// Run with "-prof gc" to see the bytes allocated per operation (gc.alloc.rate.norm).
+/// </summary>
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubscriptionChurnBenchmark {
+    private static final int CALL_COUNT = 1024;
+    private static final String CALL_STATE_EVENT = CallingServerEventType.CALL_CONNECTION_STATE_CHANGED_EVENT.toString();
+    private static final String TONE_EVENT = CallingServerEventType.TONE_RECEIVED_EVENT.toString();
+    private static final NotificationCallback NO_OP = (callEvent) -> { };
+
+    /// Whether subscriptions use a per-call mailbox, like the call flow does
+    @Param({ "true", "false" })
+    public boolean mailbox;
+
+    private EventDispatcher dispatcher;
+
+    @Setup
+    public void setup() {
+        dispatcher = new EventDispatcher(CallbackPayloads.DEDUP_MAX_ENTRIES, TimeUnit.MINUTES.toMillis(10));
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.close();
+    }
+
+    /// <summary>
+    /// Calls in progress, and tone callbacks for them with unique event ids
+    /// </summary>
+    public static class Calls {
+        final String[] callConnectionIds = new String[CALL_COUNT];
+        final String[] deliveries;
+        /// Deliveries are taken in order, so an event id comes back only after the dispatcher forgot it
+        final AtomicInteger nextDelivery = new AtomicInteger();
+
+        Calls() {
+            for (int i = 0; i < CALL_COUNT; i++) {
+                callConnectionIds[i] = UUID.randomUUID().toString();
+            }
+            deliveries = CallbackPayloads.variants("tone-received", callConnectionIds[0]);
+            for (int i = 0; i < deliveries.length; i++) {
+                deliveries[i] = deliveries[i].replace(callConnectionIds[0], callConnectionIds[i % CALL_COUNT]);
+            }
+        }
+
+        String randomCall() {
+            return callConnectionIds[ThreadLocalRandom.current().nextInt(CALL_COUNT)];
+        }
+
+        String nextDelivery() {
+            return deliveries[nextDelivery.getAndIncrement() & (CallbackPayloads.VARIANT_COUNT - 1)];
+        }
+    }
+
+    /// Calls of a single thread, so threads contend on the map rather than on the same keys
+    @State(Scope.Thread)
+    public static class ThreadCalls extends Calls {
+    }
+
+    /// Calls shared by the subscriber and dispatcher threads of a group
+    @State(Scope.Group)
+    public static class GroupCalls extends Calls {
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void subscribeUnsubscribe(ThreadCalls calls) {
+        churn(calls.randomCall());
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(4)
+    public void subscriber(GroupCalls calls) {
+        churn(calls.randomCall());
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(4)
+    public void dispatcher(GroupCalls calls) {
+        dispatcher.processNotification(calls.nextDelivery());
+    }
+
+    /// The subscriptions of one call: state changes and tones, then both released when the call ends
+    private void churn(String callConnectionId) {
+        String mailboxKey = mailbox ? callConnectionId : null;
+        dispatcher.subscribe(CALL_STATE_EVENT, callConnectionId, mailboxKey, NO_OP);
+        dispatcher.subscribe(TONE_EVENT, callConnectionId, mailboxKey, NO_OP);
+        dispatcher.unsubscribe(TONE_EVENT, callConnectionId);
+        dispatcher.unsubscribe(CALL_STATE_EVENT, callConnectionId);
+    }
+}
@@ -1,15 +1,20 @@
 package com.communication.outboundcallreminder;
 
+import java.nio.file.Paths;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import com.azure.communication.common.CommunicationUserIdentifier;
-import com.azure.communication.identity.CommunicationIdentityClient;
-import com.azure.communication.identity.CommunicationIdentityClientBuilder;
-import com.communication.outboundcallreminder.Ngrok.NgrokService;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import com.communication.outboundcallreminder.Cluster.ClusterMembership;
+import com.communication.outboundcallreminder.Dialer.CampaignDialer;
+import com.communication.outboundcallreminder.Dialer.Destination;
+import com.communication.outboundcallreminder.Dialer.PropertyDestinationSource;
+import com.communication.outboundcallreminder.Identity.IdentityPool;
+import com.communication.outboundcallreminder.Journal.CallStateJournal;
+import com.communication.outboundcallreminder.Ingress.IngressProvider;
+import com.communication.outboundcallreminder.Ingress.IngressProviders;
 import com.microsoft.cognitiveservices.speech.SpeechConfig;
 import com.microsoft.cognitiveservices.speech.SpeechSynthesisOutputFormat;
 import com.microsoft.cognitiveservices.speech.SpeechSynthesizer;
@@ -19,59 +24,59 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 @SpringBootApplication
 public class App {
-    private static NgrokService ngrokService;
+    private static IngressProvider ingressProvider;
+    private static IdentityPool identityPool;
     final static String url = "http://localhost:9007";
     final static String serverPort = "9007";
 
     public static void main(String[] args) {
+        // Get configuration properties, before the web server starts so request filters can use them
+        ConfigurationManager configurationManager = ConfigurationManager.getInstance();
+        configurationManager.loadAppSettings();
+        Logger.configure();
+
         SpringApplication application = new SpringApplication(App.class);
         application.setDefaultProperties(Collections.singletonMap("server.port", serverPort));
         application.run(args);
 
         Logger.logMessage(Logger.MessageType.INFORMATION, "Starting ACS Sample App ");
 
-        // Get configuration properties
-        ConfigurationManager configurationManager = ConfigurationManager.getInstance();
-        configurationManager.loadAppSettings();
-
-        // Start Ngrok service
-        String ngrokUrl = startNgrokService();
+        // Start the ingress forwarding callbacks to this app
+        String appBaseUrl = startIngress();
         try {
-            if (ngrokUrl != null && !ngrokUrl.isEmpty()) {
+            if (appBaseUrl != null && !appBaseUrl.isEmpty()) {
                 Logger.logMessage(Logger.MessageType.INFORMATION,"Server started at -- > " + url);
-                Thread runSample = new Thread(() -> runSample(ngrokUrl));
+                Thread runSample = new Thread(() -> runSample(appBaseUrl));
                 runSample.start();
                 runSample.join();
             } else {
-                Logger.logMessage(Logger.MessageType.INFORMATION,"Failed to start Ngrok service");
+                Logger.logMessage(Logger.MessageType.INFORMATION,"Failed to start ingress");
             }
         } catch (Exception ex) {
-            Logger.logMessage(Logger.MessageType.ERROR,"Failed to start Ngrok service -- > " + ex.getMessage());
+            Logger.logMessage(Logger.MessageType.ERROR,"Failed to start ingress -- > " + ex.getMessage());
+        } finally {
+            // Not set when the ingress provider could not be created
+            if (ingressProvider != null) {
+                ingressProvider.dispose();
+            }
         }
         Logger.logMessage(Logger.MessageType.INFORMATION, "Press 'Ctrl + C' to exit the sample");
-        ngrokService.dispose();
     }
 
-    private static String startNgrokService() {
+    private static String startIngress() {
         try {
-            ConfigurationManager configurationManager = ConfigurationManager.getInstance();
-            String ngrokPath = configurationManager.getAppSettings("NgrokExePath");
-
-            if (ngrokPath.isEmpty()) {
-                Logger.logMessage(Logger.MessageType.INFORMATION, "Ngrok path not provided");
-                return null;
+            int timeoutSeconds = ConfigurationManager.getInstance().getAppSettings("IngressReadyTimeoutSeconds", 30);
+            long startNanos = System.nanoTime();
+            ingressProvider = IngressProviders.create();
+            String appBaseUrl = ingressProvider.start(Integer.parseInt(serverPort), TimeUnit.SECONDS.toMillis(timeoutSeconds));
+
+            if (appBaseUrl != null) {
+                Logger.logMessage(Logger.MessageType.INFORMATION, "Ingress ready in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+                        + " ms with url -- > " + appBaseUrl);
             }
-
-            Logger.logMessage(Logger.MessageType.INFORMATION,"Starting Ngrok");
-            ngrokService = new NgrokService(ngrokPath, null);
-
-            Logger.logMessage(Logger.MessageType.INFORMATION,"Fetching Ngrok Url");
-            String ngrokUrl = ngrokService.getNgrokUrl();
-
-            Logger.logMessage(Logger.MessageType.INFORMATION,"Ngrok Started with url -- > " + ngrokUrl);
-            return ngrokUrl;
+            return appBaseUrl;
         } catch (Exception ex) {
-            Logger.logMessage(Logger.MessageType.INFORMATION,"Ngrok service got failed -- > " + ex.getMessage());
+            Logger.logMessage(Logger.MessageType.INFORMATION,"Ingress got failed -- > " + ex.getMessage());
             return null;
         }
     }
@@ -82,29 +87,55 @@ public class App {
         String outboundCallPairs = configurationManager.getAppSettings("DestinationIdentities");
 
         try {
-            if (outboundCallPairs != null && !outboundCallPairs.isEmpty()) {
-                String[] identities = outboundCallPairs.split(";");
-                ExecutorService executorService = Executors.newCachedThreadPool();
-                Set<Callable<Boolean>> tasks = new HashSet<>();
-
-                for (String identity : identities) {
-                    String[] pair = identity.split(",");
-                    if(pair.length == 2 && !pair[0].isEmpty() && !pair[1].isEmpty()) {
-                        tasks.add(() -> {
-                            new OutboundCallReminder(callConfiguration).report(pair[0].trim(), pair[1].trim());
-                            return true;
-                        });
-                    } else {
-                        Logger.logMessage(Logger.MessageType.ERROR, "Malformed destination identitity --> " + identity);            
-                    }
+            CallingServerClientProvider clientProvider = new CallingServerClientProvider(callConfiguration.connectionString);
+            CallStateJournal callJournal = CallStateJournal.getInstance();
+            hangupOrphanedCalls(callJournal, clientProvider);
+
+            // Each node of a cluster dials the calls it owns
+            Predicate<Destination> isOwned = (destination) -> ClusterMembership.getInstance().isLocal(
+                    CallStateJournal.keyOf(destination.getTargetPhoneNumber(), destination.getParticipant()));
+            Function<Destination, CompletableFuture<Boolean>> placeCall = (destination) -> {
+                String callKey = CallStateJournal.keyOf(destination.getTargetPhoneNumber(), destination.getParticipant());
+                // Calls completed before a restart are not dialed again; failed ones are
+                if (callJournal.isCompleted(callKey)) {
+                    Logger.logMessage(Logger.MessageType.INFORMATION, "Skipping call already made -- > " + destination);
+                    return CompletableFuture.completedFuture(true);
                 }
-                executorService.invokeAll(tasks);
-                executorService.shutdown();
+                return new OutboundCallReminder(callConfiguration, clientProvider.getClient())
+                        .reportAsync(destination.getTargetPhoneNumber(), destination.getParticipant())
+                        .thenApply(finalState -> finalState == CallState.DISCONNECTED);
+            };
+
+            String destinationFile = configurationManager.getAppSettings("DestinationFile", "");
+            if (!destinationFile.isEmpty()) {
+                CampaignDialer.getInstance().dial(Paths.get(destinationFile), isOwned, placeCall);
+            } else if (outboundCallPairs != null && !outboundCallPairs.isEmpty()) {
+                CampaignDialer.getInstance().dial(new PropertyDestinationSource(outboundCallPairs), isOwned, placeCall).join();
             }
         } catch (Exception ex) {
             Logger.logMessage(Logger.MessageType.ERROR, "Failed to initiate the outbound call Exception -- > " + ex.getMessage());
         }
-        deleteUser(callConfiguration.connectionString, callConfiguration.sourceIdentity);
+        identityPool.release(callConfiguration.sourceIdentity);
+    }
+
+    /// <summary>
+    /// Hang up the calls left connected by a previous run, whose events can no longer be handled.
+    /// These calls are dialed again when the campaign reaches them.
+    /// </summary>
+    private static void hangupOrphanedCalls(CallStateJournal callJournal, CallingServerClientProvider clientProvider) {
+        for (Map.Entry<String, String> unfinishedCall : callJournal.getUnfinishedCalls().entrySet()) {
+            String callConnectionId = unfinishedCall.getValue();
+            if (callConnectionId.isEmpty()) {
+                continue;
+            }
+
+            try {
+                clientProvider.getClient().getCallConnection(callConnectionId).hangup();
+                Logger.logMessage(Logger.MessageType.INFORMATION, "Hung up call left by the previous run -- > " + unfinishedCall.getKey());
+            } catch (Exception ex) {
+                Logger.logMessage(Logger.MessageType.INFORMATION, "Call left by the previous run already ended -- > " + unfinishedCall.getKey());
+            }
+        }
     }
 
     /// <summary>
@@ -117,9 +148,17 @@ public class App {
         String connectionString = configurationManager.getAppSettings("Connectionstring");
         String sourcePhoneNumber = configurationManager.getAppSettings("SourcePhone");
         String maxRetryAttemptCount = configurationManager.getAppSettings("MaxRetryCount");
-        String sourceIdentity = createUser(connectionString);
+        identityPool = new IdentityPool(connectionString);
+        String sourceIdentity = identityPool.acquire();
         String audioFileName = generateCustomAudioMessage();
-        return new CallConfiguration(connectionString, sourceIdentity, sourcePhoneNumber, appBaseUrl, audioFileName, maxRetryAttemptCount);
+        CallConfiguration callConfiguration = new CallConfiguration(connectionString, sourceIdentity, sourcePhoneNumber, appBaseUrl, audioFileName, maxRetryAttemptCount);
+        callConfiguration.callConnectTimeoutSeconds = configurationManager.getAppSettings("CallConnectTimeoutSeconds", callConfiguration.callConnectTimeoutSeconds);
+        callConfiguration.callDisconnectTimeoutSeconds = configurationManager.getAppSettings("CallDisconnectTimeoutSeconds", callConfiguration.callDisconnectTimeoutSeconds);
+        callConfiguration.playAudioTimeoutSeconds = configurationManager.getAppSettings("PlayAudioTimeoutSeconds", callConfiguration.playAudioTimeoutSeconds);
+        callConfiguration.toneReceivedTimeoutSeconds = configurationManager.getAppSettings("ToneReceivedTimeoutSeconds", callConfiguration.toneReceivedTimeoutSeconds);
+        callConfiguration.addParticipantTimeoutSeconds = configurationManager.getAppSettings("AddParticipantTimeoutSeconds", callConfiguration.addParticipantTimeoutSeconds);
+        callConfiguration.postTransferHoldSeconds = configurationManager.getAppSettings("PostTransferHoldSeconds", callConfiguration.postTransferHoldSeconds);
+        return callConfiguration;
     }
 
     /// <summary>
@@ -150,23 +189,4 @@ public class App {
             return "sample-message.wav";
         }
     }
-
-    /// <summary>
-    /// Create new user
-    /// </summary>
-    private static String createUser(String connectionString) {
-        CommunicationIdentityClient client = new CommunicationIdentityClientBuilder().connectionString(connectionString)
-                .buildClient();
-        CommunicationUserIdentifier user = client.createUser();
-        return user.getId();
-    }
-
-    /// <summary>
-    /// Delete the user
-    /// </summary>
-    private static void deleteUser(String connectionString, String source) {
-        CommunicationIdentityClient client = new CommunicationIdentityClientBuilder().connectionString(connectionString)
-                .buildClient();
-        client.deleteUser(new CommunicationUserIdentifier(source));
-    }
 }
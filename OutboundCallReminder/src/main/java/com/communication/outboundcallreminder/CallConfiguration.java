@@ -11,6 +11,12 @@ public class CallConfiguration {
     public String appCallbackUrl;
     public String audioFileUrl;
     public int maxRetryAttemptCount;
+    public int callConnectTimeoutSeconds = 60;
+    public int callDisconnectTimeoutSeconds = 30;
+    public int playAudioTimeoutSeconds = 30;
+    public int toneReceivedTimeoutSeconds = 30;
+    public int addParticipantTimeoutSeconds = 60;
+    public int postTransferHoldSeconds = 60;
 
     public CallConfiguration(String connectionString, String sourceIdentity, String sourcePhoneNumber,
             String appBaseUrl, String audioFileName, String maxRetryAttemptCount) {
@@ -0,0 +1,85 @@
+package com.communication.outboundcallreminder;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// <summary>
+/// Executor shared by all call flows. Call flow steps run here when an event advances the call,
+/// so no thread is parked while a call waits for its next event. The blocking calling server
+/// requests of each step run either on a small pool of platform threads or, from Java 21,
+/// on one virtual thread per step.
+/// </summary>
+public class CallFlowExecutor implements Executor {
+
+    public enum ThreadMode {
+        /// Fixed pool of CallFlowPoolSize platform threads
+        PLATFORM,
+        /// One virtual thread per task (Java 21 or later)
+        VIRTUAL
+    }
+
+    private final ExecutorService executor;
+
+    private CallFlowExecutor() {
+        ConfigurationManager configuration = ConfigurationManager.getInstance();
+        ThreadMode threadMode = parseThreadMode(configuration.getAppSettings("CallFlowThreadMode", ThreadMode.PLATFORM.name()));
+        int poolSize = configuration.getAppSettings("CallFlowPoolSize", Runtime.getRuntime().availableProcessors() * 4);
+        executor = createExecutor(threadMode, poolSize);
+    }
+
+    /// <summary>
+    /// Parse the configured thread mode; a typo must not leave every call flow without an executor
+    /// </summary>
+    static ThreadMode parseThreadMode(String value) {
+        try {
+            return ThreadMode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            Logger.logMessage(Logger.MessageType.ERROR, "Invalid CallFlowThreadMode -- > " + value + ", using PLATFORM");
+            return ThreadMode.PLATFORM;
+        }
+    }
+
+    private static class InstanceHolder {
+        private static final CallFlowExecutor instance = new CallFlowExecutor();
+    }
+
+    public static CallFlowExecutor getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /// <summary>
+    /// Create the executor for a thread mode, falling back to platform threads when virtual
+    /// threads are not available in this Java runtime
+    /// </summary>
+    public static ExecutorService createExecutor(ThreadMode threadMode, int poolSize) {
+        if (threadMode == ThreadMode.VIRTUAL) {
+            try {
+                // Looked up at run time so the sample still builds and runs on Java 11
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException ex) {
+                Logger.logMessage(Logger.MessageType.ERROR, "Virtual threads need Java 21 or later, using platform threads -- > "
+                        + System.getProperty("java.version"));
+            }
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                (task) -> {
+                    Thread thread = new Thread(task, "call-flow-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
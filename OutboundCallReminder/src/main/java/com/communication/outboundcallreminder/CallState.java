@@ -0,0 +1,8 @@
+package com.communication.outboundcallreminder;
+
+/// <summary>
+/// States of the outbound reminder call flow
+/// </summary>
+public enum CallState {
+    CREATING, CONNECTING, PLAYING_AUDIO, ADDING_PARTICIPANT, HANGING_UP, DISCONNECTED, FAILED
+}
@@ -0,0 +1,56 @@
+package com.communication.outboundcallreminder;
+
+import com.azure.communication.callingserver.CallingServerClient;
+import com.azure.communication.callingserver.CallingServerClientBuilder;
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.netty.NettyAsyncHttpClientBuilder;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/// <summary>
+/// Builds the CallingServerClient shared by all reminder calls, so connections, TLS sessions
+/// and event loop threads are reused instead of being created for every call. The client is
+/// thread safe and its throughput is bounded by the connection pool, not by the client, so one
+/// client serves all calls; several clients over the same pool would only add indirection.
+/// </summary>
+public class CallingServerClientProvider {
+    private final HttpClient httpClient;
+    private final CallingServerClient callingServerClient;
+
+    public CallingServerClientProvider(String connectionString) {
+        ConfigurationManager configurationManager = ConfigurationManager.getInstance();
+        int maxConnections = configurationManager.getAppSettings("HttpMaxConnections", 500);
+        int idleTimeoutSeconds = configurationManager.getAppSettings("HttpIdleTimeoutSeconds", 60);
+        boolean keepAlive = Boolean.parseBoolean(configurationManager.getAppSettings("HttpKeepAlive", "true"));
+        boolean http2 = Boolean.parseBoolean(configurationManager.getAppSettings("HttpEnableHttp2", "false"));
+
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("calling-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxConnections * 2)
+                .maxIdleTime(Duration.ofSeconds(idleTimeoutSeconds))
+                .build();
+
+        reactor.netty.http.client.HttpClient nettyClient = reactor.netty.http.client.HttpClient.create(connectionProvider)
+                .keepAlive(keepAlive);
+        if (http2) {
+            nettyClient = nettyClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+        }
+
+        httpClient = new NettyAsyncHttpClientBuilder(nettyClient).build();
+        callingServerClient = new CallingServerClientBuilder().httpClient(httpClient)
+                .connectionString(connectionString).buildClient();
+
+        Logger.logMessage(Logger.MessageType.INFORMATION, "Created calling server client with "
+                + maxConnections + " connections, keep-alive: " + keepAlive + ", HTTP/2: " + http2);
+    }
+
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    public CallingServerClient getClient() {
+        return callingServerClient;
+    }
+}
@@ -0,0 +1,88 @@
+package com.communication.outboundcallreminder.Cluster;
+
+import com.communication.outboundcallreminder.ConfigurationManager;
+import com.communication.outboundcallreminder.EventHandler.CallbackAuthFilter;
+import com.communication.outboundcallreminder.Logger;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/// <summary>
+/// Sends callbacks that reached the wrong node to the node owning the call. The body is streamed
+/// to the owner over a pooled keep-alive connection without being parsed here.
+/// </summary>
+public class CallbackForwarder implements Filter {
+    /// Set on forwarded requests so a node never forwards a callback twice
+    public static final String FORWARDED_HEADER = "X-Callback-Forwarded-By";
+
+    private final ClusterMembership membership;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+
+    private CallbackForwarder() {
+        membership = ClusterMembership.getInstance();
+        timeout = Duration.ofMillis(ConfigurationManager.getInstance().getAppSettings("ClusterForwardTimeoutMillis", 5000));
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    private static class InstanceHolder {
+        private static final CallbackForwarder instance = new CallbackForwarder();
+    }
+
+    public static CallbackForwarder getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+
+        String callKey = CallbackAuthFilter.getQueryParameter(request.getQueryString(), ClusterMembership.CALL_KEY_PARAMETER);
+        if (callKey == null || membership.isLocal(callKey) || request.getHeader(FORWARDED_HEADER) != null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String ownerUrl = membership.getOwnerUrl(callKey);
+        HttpRequest forwardedRequest = HttpRequest.newBuilder(URI.create(ownerUrl + request.getRequestURI() + "?" + request.getQueryString()))
+                .timeout(timeout)
+                .header("Content-Type", request.getContentType() != null ? request.getContentType() : "application/json")
+                .header(FORWARDED_HEADER, membership.getLocalNodeId())
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> {
+                    try {
+                        return request.getInputStream();
+                    } catch (IOException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }))
+                .build();
+
+        try {
+            HttpResponse<Void> forwardedResponse = httpClient.send(forwardedRequest, HttpResponse.BodyHandlers.discarding());
+            response.setStatus(forwardedResponse.statusCode());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        } catch (IOException ex) {
+            // Let the callback sender redeliver once the owner is reachable again
+            Logger.logMessage(Logger.MessageType.ERROR, "Failed to forward callback to " + ownerUrl + " -- > " + ex.getMessage());
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        }
+    }
+}
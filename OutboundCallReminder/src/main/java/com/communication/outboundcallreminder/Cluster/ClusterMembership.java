@@ -0,0 +1,74 @@
+package com.communication.outboundcallreminder.Cluster;
+
+import com.communication.outboundcallreminder.ConfigurationManager;
+import com.communication.outboundcallreminder.Logger;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/// <summary>
+/// Nodes of the cluster and the call keys each of them owns. Without ClusterNodes the
+/// application runs alone and owns every call.
+/// </summary>
+public class ClusterMembership {
+    /// Query parameter of the callback URL carrying the key of the call the event belongs to
+    public static final String CALL_KEY_PARAMETER = "callKey";
+
+    private final String localNodeId;
+    private final Map<String, String> nodeUrls;
+    private final HashRing hashRing;
+
+    private ClusterMembership() {
+        ConfigurationManager configuration = ConfigurationManager.getInstance();
+        localNodeId = configuration.getAppSettings("ClusterNodeId", "");
+        nodeUrls = parseNodes(configuration.getAppSettings("ClusterNodes", ""));
+        hashRing = new HashRing(nodeUrls.keySet(), configuration.getAppSettings("ClusterVirtualNodes", 256));
+
+        if (isEnabled() && !nodeUrls.containsKey(localNodeId)) {
+            Logger.logMessage(Logger.MessageType.ERROR, "ClusterNodeId is not one of ClusterNodes -- > " + localNodeId);
+        }
+    }
+
+    private static class InstanceHolder {
+        private static final ClusterMembership instance = new ClusterMembership();
+    }
+
+    public static ClusterMembership getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    /// <summary>
+    /// Parse "nodeId=url" pairs separated by ','
+    /// </summary>
+    public static Map<String, String> parseNodes(String nodes) {
+        Map<String, String> nodeUrls = new LinkedHashMap<>();
+        for (String node : nodes.split(",")) {
+            int separator = node.indexOf('=');
+            if (separator > 0) {
+                nodeUrls.put(node.substring(0, separator).trim(), node.substring(separator + 1).trim());
+            }
+        }
+        return Collections.unmodifiableMap(nodeUrls);
+    }
+
+    public boolean isEnabled() {
+        return nodeUrls.size() > 1;
+    }
+
+    public String getLocalNodeId() {
+        return localNodeId;
+    }
+
+    /// <summary>
+    /// Whether this node dials the call and handles its events
+    /// </summary>
+    public boolean isLocal(String callKey) {
+        return !isEnabled() || localNodeId.equals(hashRing.ownerOf(callKey));
+    }
+
+    /// <returns>Base URL of the node owning the call.</returns>
+    public String getOwnerUrl(String callKey) {
+        return nodeUrls.get(hashRing.ownerOf(callKey));
+    }
+}
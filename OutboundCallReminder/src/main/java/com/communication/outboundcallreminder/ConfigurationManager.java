@@ -34,10 +34,37 @@ public class ConfigurationManager {
         }
     }
 
+    /// <summary>
+    /// Override an app setting, e.g. from a tool that runs the call flow without config.properties.
+    /// Must be called before the components reading the setting are created.
+    /// </summary>
+    public void setAppSettings(String key, String value) {
+        appSettings.setProperty(key, value);
+    }
+
     public String getAppSettings(String key) {
         if (!key.isEmpty()) {
             return appSettings.getProperty(key);
         }
         return "";
     }
+
+    public int getAppSettings(String key, int defaultValue) {
+        String value = getAppSettings(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            Logger.logMessage(Logger.MessageType.ERROR, "Invalid value for app setting " + key + " -- > " + value);
+            return defaultValue;
+        }
+    }
+
+    public String getAppSettings(String key, String defaultValue) {
+        String value = getAppSettings(key);
+        return (value == null || value.trim().isEmpty()) ? defaultValue : value.trim();
+    }
 }
\ No newline at end of file
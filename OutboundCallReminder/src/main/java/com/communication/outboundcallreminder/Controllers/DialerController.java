@@ -0,0 +1,65 @@
+package com.communication.outboundcallreminder.Controllers;
+
+import java.util.Map;
+import com.communication.outboundcallreminder.Dialer.CampaignDialer;
+import com.communication.outboundcallreminder.EventHandler.EventAuthHandler;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class DialerController {
+
+	/// Campaign progress and current dialer limits
+	@RequestMapping(value = "/api/dialer", method = RequestMethod.GET)
+	public ResponseEntity<Map<String, Object>> getProgress(
+			@RequestParam(value = "secret", required = false) String secretKey) {
+		if (!EventAuthHandler.getInstance().authorize(secretKey)) {
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+		return ResponseEntity.ok(CampaignDialer.getInstance().getProgress());
+	}
+
+	/// Change the dialer limits while the campaign is running
+	@RequestMapping(value = "/api/dialer/limits", method = RequestMethod.POST)
+	public ResponseEntity<Map<String, Object>> setLimits(
+			@RequestParam(value = "secret", required = false) String secretKey,
+			@RequestParam(value = "callsPerSecond", required = false) Double callsPerSecond,
+			@RequestParam(value = "maxInFlight", required = false) Integer maxInFlight) {
+		if (!EventAuthHandler.getInstance().authorize(secretKey)) {
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+
+		CampaignDialer dialer = CampaignDialer.getInstance();
+		if (callsPerSecond != null && callsPerSecond > 0) {
+			dialer.setCallsPerSecond(callsPerSecond);
+		}
+		if (maxInFlight != null && maxInFlight > 0) {
+			dialer.setMaxInFlight(maxInFlight);
+		}
+		return ResponseEntity.ok(dialer.getProgress());
+	}
+
+	@RequestMapping(value = "/api/dialer/pause", method = RequestMethod.POST)
+	public ResponseEntity<Map<String, Object>> pause(
+			@RequestParam(value = "secret", required = false) String secretKey) {
+		if (!EventAuthHandler.getInstance().authorize(secretKey)) {
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+		CampaignDialer.getInstance().pause();
+		return ResponseEntity.ok(CampaignDialer.getInstance().getProgress());
+	}
+
+	@RequestMapping(value = "/api/dialer/resume", method = RequestMethod.POST)
+	public ResponseEntity<Map<String, Object>> resume(
+			@RequestParam(value = "secret", required = false) String secretKey) {
+		if (!EventAuthHandler.getInstance().authorize(secretKey)) {
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+		CampaignDialer.getInstance().resume();
+		return ResponseEntity.ok(CampaignDialer.getInstance().getProgress());
+	}
+}
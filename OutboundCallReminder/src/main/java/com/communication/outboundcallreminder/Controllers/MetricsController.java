@@ -0,0 +1,59 @@
+package com.communication.outboundcallreminder.Controllers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import com.communication.outboundcallreminder.Dialer.CampaignDialer;
+import com.communication.outboundcallreminder.EventHandler.CallbackAuthFilter;
+import com.communication.outboundcallreminder.EventHandler.EventAuthHandler;
+import com.communication.outboundcallreminder.EventHandler.EventDispatcher;
+import com.communication.outboundcallreminder.Logger;
+import com.communication.outboundcallreminder.Metrics.CallMetrics;
+import com.communication.outboundcallreminder.Scheduling.RetryScheduler;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class MetricsController {
+
+	/// Call flow latencies, event dispatcher backlog, retries and campaign progress
+	@RequestMapping(value = "/api/metrics", method = RequestMethod.GET)
+	public ResponseEntity<Map<String, Object>> getMetrics(
+			@RequestParam(value = "secret", required = false) String secretKey) {
+		if (!EventAuthHandler.getInstance().authorize(secretKey)) {
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+
+		EventDispatcher dispatcher = EventDispatcher.getInstance();
+		Map<String, Object> eventDispatcher = new LinkedHashMap<>();
+		eventDispatcher.put("queued", dispatcher.getQueuedCount());
+		eventDispatcher.put("rejected", dispatcher.getRejectedCount());
+		eventDispatcher.put("subscriptions", dispatcher.getSubscriptionCount());
+		eventDispatcher.put("callMailboxes", dispatcher.getMailboxCount());
+		eventDispatcher.put("expiredSubscriptions", dispatcher.getExpiredSubscriptionCount());
+		eventDispatcher.put("duplicateEvents", dispatcher.getDuplicateEventCount());
+		eventDispatcher.put("unauthorizedCallbacks", CallbackAuthFilter.getInstance().getUnauthorizedCount());
+		eventDispatcher.put("rateLimitedCallbacks", CallbackAuthFilter.getInstance().getRateLimitedCount());
+
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		metrics.put("latency", CallMetrics.getInstance().getSnapshot());
+		metrics.put("eventDispatcher", eventDispatcher);
+		metrics.put("addParticipantRetries", RetryScheduler.getInstance().getMetrics());
+		metrics.put("dialer", CampaignDialer.getInstance().getProgress());
+		metrics.put("droppedLogMessages", Logger.getDroppedCount());
+		return ResponseEntity.ok(metrics);
+	}
+
+	/// Clear the latency histograms, e.g. between two load test runs
+	@RequestMapping(value = "/api/metrics/reset", method = RequestMethod.POST)
+	public ResponseEntity<Void> reset(@RequestParam(value = "secret", required = false) String secretKey) {
+		if (!EventAuthHandler.getInstance().authorize(secretKey)) {
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+		CallMetrics.getInstance().reset();
+		return ResponseEntity.ok().build();
+	}
+}
@@ -1,55 +1,142 @@
 package com.communication.outboundcallreminder.Controllers;
 
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import java.io.File;
-import java.io.FileInputStream;
-import com.communication.outboundcallreminder.Logger;
-import com.communication.outboundcallreminder.EventHandler.EventAuthHandler;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import com.communication.outboundcallreminder.ConfigurationManager;
+import com.communication.outboundcallreminder.Media.AudioPrompt;
+import com.communication.outboundcallreminder.Media.AudioPromptCache;
 import com.communication.outboundcallreminder.EventHandler.EventDispatcher;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 public class OutboundCallController {
 
+	/// The secret set in app.settings is validated by CallbackAuthFilter before the request gets here
 	@RequestMapping("/api/outboundcall/callback")
-	public static String onIncomingRequestAsync(@RequestBody(required = false) String data,
-			@RequestParam(value = "secret", required = false) String secretKey) {
-		EventAuthHandler eventhandler = EventAuthHandler.getInstance();
+	public static String onIncomingRequestAsync(@RequestBody(required = false) String data) {
+		(EventDispatcher.getInstance()).processNotification(data);
+		return "OK";
+	}
 
-		/// Validating the incoming request by using secret set in app.settings
-		if (eventhandler.authorize(secretKey)) {
-			(EventDispatcher.getInstance()).processNotification(data);
-		} else {
-			Logger.logMessage(Logger.MessageType.ERROR, "Unauthorized Request");
+	@RequestMapping(value = "/audio/{fileName}", method = { RequestMethod.GET, RequestMethod.HEAD })
+	public void loadFile(@PathVariable(value = "fileName", required = false) String fileName,
+			HttpServletRequest request, HttpServletResponse response) throws IOException {
+		AudioPrompt prompt = fileName == null ? null : AudioPromptCache.getInstance().get(fileName);
+		if (prompt == null) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
 		}
 
-		return "OK";
+		response.setHeader("ETag", prompt.getETag());
+		response.setHeader("Cache-Control", "public, max-age="
+				+ ConfigurationManager.getInstance().getAppSettings("AudioCacheMaxAgeSeconds", 3600));
+		response.setHeader("Accept-Ranges", "bytes");
+		response.setDateHeader("Last-Modified", prompt.getLastModifiedMillis());
+
+		/// The media service already has this version of the prompt
+		if (matchesETag(request.getHeader("If-None-Match"), prompt.getETag())) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+
+		long length = prompt.getLength();
+		long start = 0;
+		long end = length;
+		String range = request.getHeader("Range");
+		String ifRange = request.getHeader("If-Range");
+		if (range != null && (ifRange == null || ifRange.equals(prompt.getETag()))) {
+			long[] bounds = parseRange(range, length);
+			if (bounds == null) {
+				response.setHeader("Content-Range", "bytes */" + length);
+				response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+				return;
+			}
+			if (bounds.length == 2) {
+				start = bounds[0];
+				end = bounds[1];
+				response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+				response.setHeader("Content-Range", "bytes " + start + "-" + (end - 1) + "/" + length);
+			}
+		}
+
+		response.setContentType("audio/x-wav");
+		response.setContentLengthLong(end - start);
+		if ("HEAD".equals(request.getMethod())) {
+			return;
+		}
+
+		/// Send the prompt's snapshot rather than the file, so the body matches the ETag and length sent above
+		WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+		ByteBuffer content = prompt.slice(start, end);
+		while (content.hasRemaining()) {
+			channel.write(content);
+		}
 	}
 
-	@RequestMapping("/audio/{fileName}")
-	public ResponseEntity<Object> loadFile(@PathVariable(value = "fileName", required = false) String fileName) {
-		String filePath = "src/main/java/com/communication/outboundcallreminder/audio/" + fileName;
-		File file = new File(filePath);
-		InputStreamResource resource = null;
+	private static boolean matchesETag(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		for (String candidate : ifNoneMatch.split(",")) {
+			String value = candidate.trim();
+			if (value.startsWith("W/")) {
+				value = value.substring(2);
+			}
+			if (value.equals("*") || value.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
 
-		try {
-			resource = new InputStreamResource(new FileInputStream(file));
-		} catch (Exception ex) {
-			System.out.println(ex.getMessage());
+	/// <summary>
+	/// Parse a single byte range. Ranges that are not valid syntax, including inverted ones such as
+	/// bytes=500-100, are ignored as the HTTP spec requires, so the whole file is sent.
+	/// </summary>
+	/// <returns>[start, end) of the range, an empty array when the whole file should be sent
+	/// (invalid, unsupported or multiple ranges), or null when the range starts past the end of the file.</returns>
+	static long[] parseRange(String range, long length) {
+		if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+			return new long[0];
 		}
 
-		HttpHeaders headers = new HttpHeaders();
-		headers.add("Cache-Control", "no-cache, no-store, must-revalidate");
-		headers.add("Pragma", "no-cache");
+		String spec = range.substring("bytes=".length()).trim();
+		int dash = spec.indexOf('-');
+		if (dash < 0) {
+			return new long[0];
+		}
+
+		try {
+			String first = spec.substring(0, dash).trim();
+			String last = spec.substring(dash + 1).trim();
+			if (first.isEmpty()) {
+				/// Suffix range: the last N bytes
+				long suffix = Long.parseLong(last);
+				if (suffix < 0) {
+					return new long[0];
+				}
+				return suffix > 0 && length > 0 ? new long[] { Math.max(0, length - suffix), length } : null;
+			}
 
-		return ResponseEntity.ok().headers(headers).contentLength(file.length())
-				.contentType(MediaType.parseMediaType("audio/x-wav")).body(resource);
+			long start = Long.parseLong(first);
+			long lastByte = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+			if (start < 0 || lastByte < start) {
+				return new long[0];
+			}
+			if (start >= length) {
+				return null;
+			}
+			return new long[] { start, Math.min(length - 1, lastByte) + 1 };
+		} catch (NumberFormatException ex) {
+			return new long[0];
+		}
 	}
 }
@@ -0,0 +1,179 @@
+package com.communication.outboundcallreminder.Dialer;
+
+import com.communication.outboundcallreminder.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/// <summary>
+/// Progress of a campaign through its call list. Calls complete out of order, so the checkpoint keeps
+/// the offset below which every row is done (the watermark) plus the completed rows above it.
+/// A failed row does not hold the watermark: it is kept in a bounded set of rows to redial, which the next
+/// run dials before resuming at the watermark. Only rows in flight and that set are kept in memory, so the
+/// checkpoint stays small for any call list size.
+/// </summary>
+public class CampaignCheckpoint {
+    private static final String OFFSET_PREFIX = "offset=";
+    private static final String COMPLETED_PREFIX = "completed=";
+    private static final String FAILED_PREFIX = "failed=";
+
+    private final Path checkpointFile;
+    /// Rows dialed in list order, by row offset, and whether their call has completed
+    private final ConcurrentSkipListMap<Long, RowState> dialedRows = new ConcurrentSkipListMap<>();
+    /// Rows above the watermark that were completed by a previous run
+    private final Set<Long> completedRows = ConcurrentHashMap.newKeySet();
+    /// Rows whose call failed, in this or a previous run, and that are dialed again on the next run
+    private final Set<Long> failedRows = ConcurrentHashMap.newKeySet();
+    private final int maxFailedRows;
+    /// Failed rows of the previous run below the watermark, which this run dials again
+    private final List<Long> retryRows = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile long watermark;
+
+    private CampaignCheckpoint(Path checkpointFile, int maxFailedRows) {
+        this.checkpointFile = checkpointFile;
+        this.maxFailedRows = maxFailedRows;
+    }
+
+    /// <summary>
+    /// Load the checkpoint of a previous run, or start a new one if the file does not exist
+    /// </summary>
+    /// <param name="maxFailedRows">Number of failed rows remembered for the next run; rows failing beyond it are only logged.</param>
+    public static CampaignCheckpoint load(Path checkpointFile, int maxFailedRows) throws IOException {
+        CampaignCheckpoint checkpoint = new CampaignCheckpoint(checkpointFile, maxFailedRows);
+        if (Files.exists(checkpointFile)) {
+            for (String line : Files.readAllLines(checkpointFile, StandardCharsets.UTF_8)) {
+                if (line.startsWith(OFFSET_PREFIX)) {
+                    checkpoint.watermark = Long.parseLong(line.substring(OFFSET_PREFIX.length()));
+                } else if (line.startsWith(COMPLETED_PREFIX)) {
+                    checkpoint.completedRows.add(Long.parseLong(line.substring(COMPLETED_PREFIX.length())));
+                } else if (line.startsWith(FAILED_PREFIX)) {
+                    checkpoint.failedRows.add(Long.parseLong(line.substring(FAILED_PREFIX.length())));
+                }
+            }
+        }
+        // Failed rows at or above the watermark are reached again by reading on from the watermark
+        checkpoint.failedRows.removeIf(rowOffset -> rowOffset >= checkpoint.watermark);
+        checkpoint.retryRows.addAll(checkpoint.failedRows);
+        Collections.sort(checkpoint.retryRows);
+        return checkpoint;
+    }
+
+    public long getResumeOffset() {
+        return watermark;
+    }
+
+    public boolean isCompleted(long rowOffset) {
+        return rowOffset < watermark || completedRows.contains(rowOffset);
+    }
+
+    /// <summary>
+    /// Rows that failed in the previous run, in list order, to dial before resuming at the watermark
+    /// </summary>
+    public List<Long> getRetryRows() {
+        return retryRows;
+    }
+
+    /// Record that a row has been dialed. Rows read from the watermark on must be recorded in list order.
+    public void markDialed(Destination destination) {
+        // A retried row is below the watermark and does not take part in advancing it
+        if (destination.getRowOffset() >= watermark) {
+            dialedRows.put(destination.getRowOffset(), new RowState(destination.getNextRowOffset()));
+        }
+    }
+
+    public void markCompleted(Destination destination) {
+        failedRows.remove(destination.getRowOffset());
+        advance(destination);
+    }
+
+    /// <summary>
+    /// Record that the call of a row failed. The row is dialed again on the next run, unless
+    /// maxFailedRows rows are already waiting for it.
+    /// </summary>
+    public void markFailed(Destination destination) {
+        long rowOffset = destination.getRowOffset();
+        if (failedRows.contains(rowOffset) || failedRows.size() < maxFailedRows) {
+            failedRows.add(rowOffset);
+        } else {
+            Logger.logMessage(Logger.MessageType.ERROR, "Too many failed rows to redial, not redialing -- > " + destination);
+        }
+        advance(destination);
+    }
+
+    private void advance(Destination destination) {
+        RowState row = dialedRows.get(destination.getRowOffset());
+        if (row == null) {
+            return;
+        }
+        row.completed = true;
+
+        lock.lock();
+        try {
+            // Advance the watermark over every leading completed row
+            Map.Entry<Long, RowState> first;
+            while ((first = dialedRows.firstEntry()) != null && first.getValue().completed) {
+                watermark = first.getValue().nextRowOffset;
+                dialedRows.remove(first.getKey());
+            }
+            completedRows.removeIf(rowOffset -> rowOffset < watermark);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /// <summary>
+    /// Write the checkpoint to disk. The file is replaced atomically so a crash never leaves it half written.
+    /// </summary>
+    public void save() {
+        lock.lock();
+        try {
+            Path temporaryFile = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                writer.write(OFFSET_PREFIX + watermark);
+                writer.newLine();
+                for (Map.Entry<Long, RowState> row : dialedRows.entrySet()) {
+                    // A failed row above the watermark is left out, so the next run reads it again
+                    if (row.getValue().completed && !failedRows.contains(row.getKey())) {
+                        writer.write(COMPLETED_PREFIX + row.getKey());
+                        writer.newLine();
+                    }
+                }
+                for (Long rowOffset : completedRows) {
+                    writer.write(COMPLETED_PREFIX + rowOffset);
+                    writer.newLine();
+                }
+                for (Long rowOffset : failedRows) {
+                    writer.write(FAILED_PREFIX + rowOffset);
+                    writer.newLine();
+                }
+            }
+            Files.move(temporaryFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            Logger.logMessage(Logger.MessageType.ERROR, "Failed to save campaign checkpoint -- > " + ex.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static class RowState {
+        private final long nextRowOffset;
+        private volatile boolean completed;
+
+        RowState(long nextRowOffset) {
+            this.nextRowOffset = nextRowOffset;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.communication.outboundcallreminder.Dialer;
+
+import com.communication.outboundcallreminder.ConfigurationManager;
+import com.communication.outboundcallreminder.Logger;
+import com.communication.outboundcallreminder.Scheduling.TimeoutScheduler;
+import com.communication.outboundcallreminder.Scheduling.TokenBucket;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/// <summary>
+/// Places the calls of a campaign at a limited rate (calls per second) and with a limited number
+/// of calls in progress. The dialer stops reading destinations while the in-flight limit is reached,
+/// so the call list is consumed only as fast as calls complete. Both limits can be changed at runtime.
+/// </summary>
+public class CampaignDialer {
+    private final TokenBucket callRate;
+    private final InFlightLimiter inFlightLimiter;
+    private final int progressIntervalSeconds;
+    private final AtomicLong dialedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong notOwnedCount = new AtomicLong();
+    private final int checkpointIntervalSeconds;
+    private final int checkpointMaxFailedRows;
+    private volatile boolean running;
+    private volatile boolean paused;
+
+    private CampaignDialer() {
+        ConfigurationManager configurationManager = ConfigurationManager.getInstance();
+        int callsPerSecond = configurationManager.getAppSettings("DialerCallsPerSecond", 5);
+        int maxInFlight = configurationManager.getAppSettings("DialerMaxInFlight", 100);
+        progressIntervalSeconds = configurationManager.getAppSettings("DialerProgressIntervalSeconds", 10);
+        checkpointIntervalSeconds = configurationManager.getAppSettings("CheckpointIntervalSeconds", 5);
+        checkpointMaxFailedRows = configurationManager.getAppSettings("CheckpointMaxFailedRows", 10000);
+
+        callRate = new TokenBucket(callsPerSecond, 1);
+        inFlightLimiter = new InFlightLimiter(maxInFlight);
+    }
+
+    private static class InstanceHolder {
+        private static final CampaignDialer instance = new CampaignDialer();
+    }
+
+    public static CampaignDialer getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    /// <summary>
+    /// Dial every destination on a dedicated dialer thread
+    /// </summary>
+    /// <param name="destinations">Destinations to call, read lazily.</param>
+    /// <param name="isOwned">Whether this node dials a destination; the others are skipped without being reported.</param>
+    /// <param name="placeCall">Starts a call and returns a future completed when the call has ended, with false if the call failed.</param>
+    /// <returns>Future completed when every owned destination has been called and every call has ended.</returns>
+    public CompletableFuture<Void> dial(Iterator<Destination> destinations, Predicate<Destination> isOwned,
+            Function<Destination, CompletableFuture<Boolean>> placeCall) {
+        CompletableFuture<Void> campaignCompleted = new CompletableFuture<>();
+        ScheduledFuture<?> progressReport = TimeoutScheduler.getInstance().scheduleAtFixedRate(
+                () -> Logger.logMessage(Logger.MessageType.INFORMATION, "Campaign progress -- > " + getProgress()),
+                progressIntervalSeconds, TimeUnit.SECONDS);
+
+        // Set before the thread starts, so a stop() issued right after dial() is not overwritten
+        running = true;
+        Thread dialerThread = new Thread(() -> {
+            try {
+                while (running && destinations.hasNext()) {
+                    while (paused && running) {
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(200));
+                    }
+                    // Stopped while paused
+                    if (!running) {
+                        break;
+                    }
+                    Destination destination = destinations.next();
+                    if (!isOwned.test(destination)) {
+                        notOwnedCount.incrementAndGet();
+                        continue;
+                    }
+
+                    // Backpressure: wait for a free call slot, then for the call rate
+                    inFlightLimiter.acquire();
+                    long waitNanos = callRate.reserve();
+                    if (waitNanos > 0) {
+                        LockSupport.parkNanos(waitNanos);
+                    }
+
+                    dialedCount.incrementAndGet();
+                    startCall(destination, placeCall);
+                }
+
+                inFlightLimiter.awaitIdle();
+                campaignCompleted.complete(null);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                campaignCompleted.completeExceptionally(ex);
+            } catch (Exception ex) {
+                Logger.logMessage(Logger.MessageType.ERROR, "Campaign dialer failed -- > " + ex.getMessage());
+                campaignCompleted.completeExceptionally(ex);
+            } finally {
+                running = false;
+                progressReport.cancel(false);
+                Logger.logMessage(Logger.MessageType.INFORMATION, "Campaign finished -- > " + getProgress());
+            }
+        }, "campaign-dialer");
+        dialerThread.start();
+
+        return campaignCompleted;
+    }
+
+    /// <summary>
+    /// Dial a call list file. Progress is checkpointed next to the file ("<file>.checkpoint"),
+    /// so a campaign that is stopped or restarted resumes after the last completed rows.
+    /// Failed rows are remembered in the checkpoint and dialed again on the next run. Rows this node does not own
+    /// are never marked, so they neither count as completed nor as failed here.
+    /// </summary>
+    public void dial(Path callListFile, Predicate<Destination> isOwned, Function<Destination, CompletableFuture<Boolean>> placeCall)
+            throws IOException {
+        CampaignCheckpoint checkpoint = CampaignCheckpoint.load(
+                callListFile.resolveSibling(callListFile.getFileName() + ".checkpoint"), checkpointMaxFailedRows);
+        ScheduledFuture<?> checkpointSaver = TimeoutScheduler.getInstance().scheduleAtFixedRate(checkpoint::save,
+                checkpointIntervalSeconds, TimeUnit.SECONDS);
+
+        try (FileDestinationSource destinations = new FileDestinationSource(callListFile, checkpoint)) {
+            dial(destinations, isOwned, (destination) -> {
+                checkpoint.markDialed(destination);
+                return placeCall.apply(destination).whenComplete((succeeded, ex) -> {
+                    if (ex == null && succeeded) {
+                        checkpoint.markCompleted(destination);
+                    } else {
+                        checkpoint.markFailed(destination);
+                    }
+                });
+            }).join();
+        } finally {
+            checkpointSaver.cancel(false);
+            checkpoint.save();
+        }
+    }
+
+    private void startCall(Destination destination, Function<Destination, CompletableFuture<Boolean>> placeCall) {
+        CompletableFuture<Boolean> call;
+        try {
+            call = placeCall.apply(destination);
+        } catch (Exception ex) {
+            Logger.logMessage(Logger.MessageType.ERROR, "Failed to start call to " + destination.getTargetPhoneNumber() + " -- > " + ex.getMessage());
+            call = CompletableFuture.failedFuture(ex);
+        }
+
+        call.whenComplete((succeeded, ex) -> {
+            if (ex != null || !succeeded) {
+                failedCount.incrementAndGet();
+            } else {
+                completedCount.incrementAndGet();
+            }
+            inFlightLimiter.release();
+        });
+    }
+
+    /// <summary>
+    /// Stop dialing new destinations. Calls in progress are not affected.
+    /// </summary>
+    public void stop() {
+        running = false;
+    }
+
+    /// <summary>
+    /// Stop dialing new destinations until resume is called
+    /// </summary>
+    public void pause() {
+        paused = true;
+        Logger.logMessage(Logger.MessageType.INFORMATION, "Dialer paused -- > " + getProgress());
+    }
+
+    public void resume() {
+        paused = false;
+        Logger.logMessage(Logger.MessageType.INFORMATION, "Dialer resumed");
+    }
+
+    public void setCallsPerSecond(double callsPerSecond) {
+        callRate.setRate(callsPerSecond);
+        Logger.logMessage(Logger.MessageType.INFORMATION, "Dialer calls per second set to -- > " + callsPerSecond);
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        inFlightLimiter.setLimit(maxInFlight);
+        Logger.logMessage(Logger.MessageType.INFORMATION, "Dialer max in-flight calls set to -- > " + maxInFlight);
+    }
+
+    public Map<String, Object> getProgress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("running", running);
+        progress.put("paused", paused);
+        progress.put("dialed", dialedCount.get());
+        progress.put("completed", completedCount.get());
+        progress.put("failed", failedCount.get());
+        progress.put("notOwned", notOwnedCount.get());
+        progress.put("inFlight", inFlightLimiter.getInFlight());
+        progress.put("maxInFlight", inFlightLimiter.getLimit());
+        progress.put("callsPerSecond", callRate.getRate());
+        return progress;
+    }
+}
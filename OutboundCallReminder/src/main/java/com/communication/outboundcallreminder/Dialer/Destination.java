@@ -0,0 +1,57 @@
+package com.communication.outboundcallreminder.Dialer;
+
+/// <summary>
+/// One entry of the call list: the number to call and the participant to transfer the call to
+/// </summary>
+public class Destination {
+    private final String targetPhoneNumber;
+    private final String participant;
+    private final long rowOffset;
+    private final long nextRowOffset;
+
+    public Destination(String targetPhoneNumber, String participant) {
+        this(targetPhoneNumber, participant, -1, -1);
+    }
+
+    /// <param name="rowOffset">Position of the row in the call list.</param>
+    /// <param name="nextRowOffset">Position of the row that follows it.</param>
+    public Destination(String targetPhoneNumber, String participant, long rowOffset, long nextRowOffset) {
+        this.targetPhoneNumber = targetPhoneNumber;
+        this.participant = participant;
+        this.rowOffset = rowOffset;
+        this.nextRowOffset = nextRowOffset;
+    }
+
+    public String getTargetPhoneNumber() {
+        return targetPhoneNumber;
+    }
+
+    public String getParticipant() {
+        return participant;
+    }
+
+    public long getRowOffset() {
+        return rowOffset;
+    }
+
+    public long getNextRowOffset() {
+        return nextRowOffset;
+    }
+
+    /// <summary>
+    /// Parse a "target,participant" row
+    /// </summary>
+    /// <returns>The destination, or null when the row is malformed.</returns>
+    public static Destination parse(String row, long rowOffset, long nextRowOffset) {
+        String[] pair = row.split(",");
+        if (pair.length == 2 && !pair[0].trim().isEmpty() && !pair[1].trim().isEmpty()) {
+            return new Destination(pair[0].trim(), pair[1].trim(), rowOffset, nextRowOffset);
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return targetPhoneNumber + "," + participant;
+    }
+}
@@ -0,0 +1,130 @@
+package com.communication.outboundcallreminder.Dialer;
+
+import com.communication.outboundcallreminder.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/// <summary>
+/// Reads a call list file lazily, one "target,participant" row per line, in constant memory.
+/// Empty lines and lines starting with '#' are ignored. The rows that failed in the previous run are
+/// read first, then reading resumes at the checkpoint offset, and rows the checkpoint already records
+/// as completed are skipped.
+/// </summary>
+public class FileDestinationSource implements Iterator<Destination>, Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final CampaignCheckpoint checkpoint;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final Iterator<Long> retryRows;
+    private boolean resumed;
+    private byte[] line = new byte[256];
+    private long position;
+    private boolean endOfFile;
+    private Destination next;
+
+    public FileDestinationSource(Path callListFile, CampaignCheckpoint checkpoint) throws IOException {
+        this.channel = FileChannel.open(callListFile, StandardOpenOption.READ);
+        this.checkpoint = checkpoint;
+        this.retryRows = checkpoint.getRetryRows().iterator();
+
+        if (!checkpoint.getRetryRows().isEmpty()) {
+            Logger.logMessage(Logger.MessageType.INFORMATION, "Redialing rows that failed in the previous run -- > " + checkpoint.getRetryRows().size());
+        }
+        if (checkpoint.getResumeOffset() > 0) {
+            Logger.logMessage(Logger.MessageType.INFORMATION, "Resuming call list " + callListFile + " at offset -- > " + checkpoint.getResumeOffset());
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (next == null && retryRows.hasNext()) {
+                seek(retryRows.next());
+                next = readRow(true);
+            }
+            if (!resumed) {
+                seek(checkpoint.getResumeOffset());
+                resumed = true;
+            }
+            while (next == null && !endOfFile) {
+                next = readRow(false);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return next != null;
+    }
+
+    @Override
+    public Destination next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Destination destination = next;
+        next = null;
+        return destination;
+    }
+
+    private void seek(long offset) throws IOException {
+        channel.position(offset);
+        position = offset;
+        buffer.clear().flip();
+        endOfFile = false;
+    }
+
+    /// <param name="retry">Whether the row is read again because it failed, so it is dialed even though the checkpoint passed it.</param>
+    /// <returns>The next row to dial, or null when the line was skipped.</returns>
+    private Destination readRow(boolean retry) throws IOException {
+        long rowOffset = position;
+        int length = 0;
+
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int read = channel.read(buffer);
+                buffer.flip();
+                if (read < 0) {
+                    endOfFile = true;
+                    break;
+                }
+            }
+
+            byte b = buffer.get();
+            position++;
+            if (b == '\n') {
+                break;
+            }
+            if (length == line.length) {
+                line = Arrays.copyOf(line, length * 2);
+            }
+            line[length++] = b;
+        }
+
+        String row = new String(line, 0, length, StandardCharsets.UTF_8).trim();
+        if (row.isEmpty() || row.startsWith("#") || (!retry && checkpoint.isCompleted(rowOffset))) {
+            return null;
+        }
+
+        Destination destination = Destination.parse(row, rowOffset, position);
+        if (destination == null) {
+            Logger.logMessage(Logger.MessageType.ERROR, "Malformed destination identitity --> " + row);
+        }
+        return destination;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,81 @@
+package com.communication.outboundcallreminder.Dialer;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/// <summary>
+/// Limits the number of calls in progress. Unlike a Semaphore, the limit can be lowered while
+/// calls are in flight; new calls then wait until enough of them have finished.
+/// </summary>
+class InFlightLimiter {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotAvailable = lock.newCondition();
+    private int limit;
+    private int inFlight;
+
+    InFlightLimiter(int limit) {
+        this.limit = Math.max(1, limit);
+    }
+
+    void acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            while (inFlight >= limit) {
+                slotAvailable.await();
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            slotAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /// Wait until every call in flight has finished
+    void awaitIdle() throws InterruptedException {
+        lock.lock();
+        try {
+            while (inFlight > 0) {
+                slotAvailable.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void setLimit(int limit) {
+        lock.lock();
+        try {
+            this.limit = Math.max(1, limit);
+            slotAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.communication.outboundcallreminder.Dialer;
+
+import com.communication.outboundcallreminder.Logger;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/// <summary>
+/// Destinations from the DestinationIdentities setting:
+/// "OutboundTarget1,TransferTarget1;OutboundTarget2,TransferTarget2"
+/// </summary>
+public class PropertyDestinationSource implements Iterator<Destination> {
+    private final String outboundCallPairs;
+    private int position;
+    private Destination next;
+
+    public PropertyDestinationSource(String outboundCallPairs) {
+        this.outboundCallPairs = (outboundCallPairs != null) ? outboundCallPairs : "";
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && position < outboundCallPairs.length()) {
+            int end = outboundCallPairs.indexOf(';', position);
+            if (end < 0) {
+                end = outboundCallPairs.length();
+            }
+
+            String identity = outboundCallPairs.substring(position, end);
+            next = Destination.parse(identity, position, end + 1);
+            if (next == null && !identity.trim().isEmpty()) {
+                Logger.logMessage(Logger.MessageType.ERROR, "Malformed destination identitity --> " + identity);
+            }
+            position = end + 1;
+        }
+        return next != null;
+    }
+
+    @Override
+    public Destination next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Destination destination = next;
+        next = null;
+        return destination;
+    }
+}
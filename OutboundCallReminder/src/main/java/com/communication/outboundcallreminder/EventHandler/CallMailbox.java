@@ -0,0 +1,85 @@
+package com.communication.outboundcallreminder.EventHandler;
+
+import com.communication.outboundcallreminder.Scheduling.TimeoutScheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/// <summary>
+/// Runs the callbacks of one call one at a time, in arrival order, on the shared worker pool.
+/// At most one worker drains a mailbox at a time, so callbacks of the same call never overlap
+/// while different calls still run in parallel.
+/// </summary>
+class CallMailbox {
+    private static final long RETRY_DELAY_MILLIS = 10;
+
+    private final DispatchWorkerPool workerPool;
+    private final Consumer<CallMailbox> onIdle;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    /// Number of subscriptions routed to this mailbox; only changed inside the mailbox map's compute
+    volatile int subscriptionCount;
+
+    /// <param name="onIdle">Called when a drain finished while no subscription uses the mailbox anymore.</param>
+    CallMailbox(DispatchWorkerPool workerPool, Consumer<CallMailbox> onIdle) {
+        this.workerPool = workerPool;
+        this.onIdle = onIdle;
+    }
+
+    void enqueue(Runnable task) {
+        tasks.add(task);
+        if (scheduled.compareAndSet(false, true) && !workerPool.tryExecute(this::drain)) {
+            if (workerPool.isCallerRuns()) {
+                // The caller takes the drain, with the events queued meanwhile by other threads
+                drain();
+                return;
+            }
+
+            // No worker took the drain: the rejection policy applies to this event, never to the mailbox,
+            // and events queued meanwhile by other threads wait for a worker rather than run on this thread
+            tasks.remove(task);
+            scheduled.set(false);
+            if (!tasks.isEmpty()) {
+                TimeoutScheduler.getInstance().schedule(this::retryDrain, RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            } else if (subscriptionCount == 0) {
+                onIdle.accept(this);
+            }
+            workerPool.reject(task);
+        }
+    }
+
+    /// Hand the queued events to a worker once the pool has room again
+    private void retryDrain() {
+        if (!tasks.isEmpty() && scheduled.compareAndSet(false, true) && !workerPool.tryExecute(this::drain)) {
+            scheduled.set(false);
+            if (workerPool.isShutdown()) {
+                tasks.clear();
+                return;
+            }
+            TimeoutScheduler.getInstance().schedule(this::retryDrain, RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /// Whether no event is queued or running
+    boolean isIdle() {
+        return !scheduled.get() && tasks.isEmpty();
+    }
+
+    private void drain() {
+        do {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+            scheduled.set(false);
+            // A task added after the queue looked empty but before the flag was cleared is ours to run
+        } while (!tasks.isEmpty() && scheduled.compareAndSet(false, true));
+
+        if (subscriptionCount == 0) {
+            onIdle.accept(this);
+        }
+    }
+}
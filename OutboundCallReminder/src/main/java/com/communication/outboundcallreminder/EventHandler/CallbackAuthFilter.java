@@ -0,0 +1,161 @@
+package com.communication.outboundcallreminder.EventHandler;
+
+import com.communication.outboundcallreminder.ConfigurationManager;
+import com.communication.outboundcallreminder.Logger;
+import com.communication.outboundcallreminder.Scheduling.TokenBucket;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/// <summary>
+/// Rejects callback requests that exceed their source's rate limit or carry a wrong secret,
+/// before the request body is read. The secret is taken from the raw query string because
+/// getParameter() would parse a form encoded body.
+/// Behind ngrok every request reaches the application from the local ngrok agent (127.0.0.1),
+/// so with the NGROK ingress the source is taken from the X-Forwarded-For header by default;
+/// otherwise all callbacks would share a single rate limit.
+/// </summary>
+public class CallbackAuthFilter implements Filter {
+    /// Limits of the most recently seen sources, least recently seen first
+    private final LinkedHashMap<String, TokenBucket> sourceLimits;
+    private final ReentrantLock sourceLimitsLock = new ReentrantLock();
+    private final double permitsPerSecond;
+    private final int burst;
+    private final int maxSources;
+    private final boolean trustForwardedFor;
+    private final AtomicLong unauthorizedCount = new AtomicLong();
+    private final AtomicLong rateLimitedCount = new AtomicLong();
+
+    private CallbackAuthFilter() {
+        this(ConfigurationManager.getInstance().getAppSettings("CallbackRateLimitPerSecond", 200),
+                ConfigurationManager.getInstance().getAppSettings("CallbackRateLimitBurst", 400),
+                ConfigurationManager.getInstance().getAppSettings("CallbackRateLimitMaxSources", 10000),
+                trustsForwardedFor(ConfigurationManager.getInstance()));
+    }
+
+    CallbackAuthFilter(double permitsPerSecond, int burst, int maxSources, boolean trustForwardedFor) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.maxSources = maxSources;
+        this.trustForwardedFor = trustForwardedFor;
+
+        // Forget the least recently seen source once maxSources are tracked; it starts again with a new bucket
+        sourceLimits = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                return size() > maxSources;
+            }
+        };
+    }
+
+    private static boolean trustsForwardedFor(ConfigurationManager configuration) {
+        String forwardedFor = configuration.getAppSettings("CallbackTrustForwardedFor", "");
+        return forwardedFor.isEmpty()
+                ? configuration.getAppSettings("IngressProvider", "NGROK").equalsIgnoreCase("NGROK")
+                : Boolean.parseBoolean(forwardedFor);
+    }
+
+    private static class InstanceHolder {
+        private static final CallbackAuthFilter instance = new CallbackAuthFilter();
+    }
+
+    public static CallbackAuthFilter getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+
+        if (!limiterFor(getSource(request)).tryAcquire()) {
+            rateLimitedCount.incrementAndGet();
+            reject(response, HttpServletResponse.SC_TOO_MANY_REQUESTS);
+            response.setHeader("Retry-After", "1");
+            return;
+        }
+
+        if (!EventAuthHandler.getInstance().authorize(getQueryParameter(request.getQueryString(), "secret"))) {
+            if (unauthorizedCount.incrementAndGet() % 1000 == 1) {
+                Logger.logMessage(Logger.MessageType.ERROR, "Unauthorized Request from -- > " + getSource(request));
+            }
+            reject(response, HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    public long getUnauthorizedCount() {
+        return unauthorizedCount.get();
+    }
+
+    public long getRateLimitedCount() {
+        return rateLimitedCount.get();
+    }
+
+    private static void reject(HttpServletResponse response, int status) {
+        // Close the connection so the container does not read the rejected body to reuse it
+        response.setHeader("Connection", "close");
+        response.setStatus(status);
+    }
+
+    private String getSource(HttpServletRequest request) {
+        String forwardedFor = trustForwardedFor ? request.getHeader("X-Forwarded-For") : null;
+        if (forwardedFor != null && !forwardedFor.isEmpty()) {
+            // The trusted proxy appends the address it received the request from; earlier entries come from the client
+            int comma = forwardedFor.lastIndexOf(',');
+            return (comma < 0 ? forwardedFor : forwardedFor.substring(comma + 1)).trim();
+        }
+        return request.getRemoteAddr();
+    }
+
+    private TokenBucket limiterFor(String source) {
+        sourceLimitsLock.lock();
+        try {
+            return sourceLimits.computeIfAbsent(source, (key) -> new TokenBucket(permitsPerSecond, burst));
+        } finally {
+            sourceLimitsLock.unlock();
+        }
+    }
+
+    /// <summary>
+    /// Get a query parameter without touching the request body
+    /// </summary>
+    public static String getQueryParameter(String queryString, String name) {
+        if (queryString == null) {
+            return null;
+        }
+
+        int start = 0;
+        while (start <= queryString.length()) {
+            int end = queryString.indexOf('&', start);
+            if (end < 0) {
+                end = queryString.length();
+            }
+            if (queryString.startsWith(name, start) && start + name.length() < end
+                    && queryString.charAt(start + name.length()) == '=') {
+                try {
+                    return URLDecoder.decode(queryString.substring(start + name.length() + 1, end), StandardCharsets.UTF_8);
+                } catch (IllegalArgumentException ex) {
+                    return null;
+                }
+            }
+            start = end + 1;
+        }
+        return null;
+    }
+}
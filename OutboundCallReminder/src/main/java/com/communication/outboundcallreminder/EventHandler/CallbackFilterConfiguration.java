@@ -0,0 +1,32 @@
+package com.communication.outboundcallreminder.EventHandler;
+
+import com.communication.outboundcallreminder.Cluster.CallbackForwarder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CallbackFilterConfiguration {
+
+    /// <summary>
+    /// Check the callback endpoint's secret and rate limits ahead of the controller
+    /// </summary>
+    @Bean
+    public FilterRegistrationBean<CallbackAuthFilter> callbackAuthFilter() {
+        FilterRegistrationBean<CallbackAuthFilter> registration = new FilterRegistrationBean<>(CallbackAuthFilter.getInstance());
+        registration.addUrlPatterns("/api/outboundcall/callback");
+        registration.setOrder(1);
+        return registration;
+    }
+
+    /// <summary>
+    /// Forward authorized callbacks of calls owned by another node of the cluster
+    /// </summary>
+    @Bean
+    public FilterRegistrationBean<CallbackForwarder> callbackForwarder() {
+        FilterRegistrationBean<CallbackForwarder> registration = new FilterRegistrationBean<>(CallbackForwarder.getInstance());
+        registration.addUrlPatterns("/api/outboundcall/callback");
+        registration.setOrder(2);
+        return registration;
+    }
+}
@@ -0,0 +1,113 @@
+package com.communication.outboundcallreminder.EventHandler;
+
+import com.communication.outboundcallreminder.Logger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/// <summary>
+/// Bounded pool of worker threads that run notification callbacks.
+/// </summary>
+public class DispatchWorkerPool {
+
+    public enum RejectionPolicy {
+        /// Run the callback on the thread that received the notification (slows down the callback sender)
+        CALLER_RUNS,
+        /// Drop the callback and log it
+        DISCARD,
+        /// Fail the notification so the callback sender can redeliver it
+        ABORT
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final RejectionPolicy rejectionPolicy;
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public DispatchWorkerPool(int poolSize, int queueSize, RejectionPolicy rejectionPolicy) {
+        this.rejectionPolicy = rejectionPolicy;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), new WorkerThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /// <summary>
+    /// Run a task on a worker, applying the rejection policy if the queue is full
+    /// </summary>
+    public void execute(Runnable task) {
+        if (!tryExecute(task)) {
+            reject(task);
+        }
+    }
+
+    /// <summary>
+    /// Run a task on a worker
+    /// </summary>
+    /// <returns>false if the queue is full or the pool is shut down; the rejection policy is not applied.</returns>
+    public boolean tryExecute(Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException ex) {
+            rejectedCount.incrementAndGet();
+            return false;
+        }
+    }
+
+    /// <summary>
+    /// Apply the rejection policy to a task the pool did not accept
+    /// </summary>
+    public void reject(Runnable task) {
+        if (executor.isShutdown()) {
+            Logger.logMessage(Logger.MessageType.ERROR, "Event dispatcher is shut down, dropping notification");
+            return;
+        }
+
+        switch (rejectionPolicy) {
+            case CALLER_RUNS:
+                task.run();
+                break;
+            case DISCARD:
+                Logger.logMessage(Logger.MessageType.ERROR, "Event dispatcher queue is full, dropping notification");
+                break;
+            default:
+                throw new RejectedExecutionException("Event dispatcher queue is full");
+        }
+    }
+
+    /// Whether a rejected task is run by the caller rather than dropped or failed
+    public boolean isCallerRuns() {
+        return rejectionPolicy == RejectionPolicy.CALLER_RUNS && !executor.isShutdown();
+    }
+
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "event-dispatcher-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.communication.outboundcallreminder.EventHandler;
 
 import com.communication.outboundcallreminder.ConfigurationManager;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
 public class EventAuthHandler {
     private String secretValue;
     public static EventAuthHandler eventAuthHandler = null;
@@ -24,7 +27,9 @@ public class EventAuthHandler {
     }
 
     public Boolean authorize(String requestSecretValue) {
-        return requestSecretValue != null && requestSecretValue.equals(secretValue);
+        // Compare in constant time so the secret cannot be guessed from response times
+        return requestSecretValue != null && MessageDigest.isEqual(
+                requestSecretValue.getBytes(StandardCharsets.UTF_8), secretValue.getBytes(StandardCharsets.UTF_8));
     }
 
     public String getSecretQuerystring() {
@@ -0,0 +1,82 @@
+package com.communication.outboundcallreminder.EventHandler;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/// <summary>
+/// Remembers the ids of recently delivered events so redeliveries can be dropped.
+/// Ids are kept in two generations: when the current one is full or older than the window it
+/// becomes the previous one and the oldest generation is forgotten, which bounds memory to
+/// twice the generation size while every lookup stays O(1).
+/// </summary>
+class EventDeduplicator {
+    private final int generationSize;
+    private final long windowNanos;
+    private final AtomicLong duplicateCount = new AtomicLong();
+    private final ReentrantLock rotationLock = new ReentrantLock();
+    private volatile Generations generations;
+
+    EventDeduplicator(int maxEntries, long window, TimeUnit unit) {
+        this.generationSize = Math.max(1, maxEntries / 2);
+        this.windowNanos = unit.toNanos(window) / 2;
+        this.generations = new Generations(ConcurrentHashMap.newKeySet(), ConcurrentHashMap.newKeySet(), System.nanoTime());
+    }
+
+    /// <summary>
+    /// Record an event id
+    /// </summary>
+    /// <returns>true the first time the id is seen, false for a redelivery.</returns>
+    boolean markSeen(String eventId) {
+        Generations current = rotateIfNeeded();
+        if (current.previous.contains(eventId) || !current.current.add(eventId)) {
+            duplicateCount.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /// <summary>
+    /// Forget an event id, so a redelivery of an event that could not be dispatched is accepted
+    /// </summary>
+    void forget(String eventId) {
+        Generations current = generations;
+        current.current.remove(eventId);
+        current.previous.remove(eventId);
+    }
+
+    long getDuplicateCount() {
+        return duplicateCount.get();
+    }
+
+    private Generations rotateIfNeeded() {
+        Generations current = generations;
+        if (current.current.size() < generationSize && System.nanoTime() - current.startNanos < windowNanos) {
+            return current;
+        }
+
+        rotationLock.lock();
+        try {
+            if (generations == current) {
+                generations = new Generations(ConcurrentHashMap.newKeySet(), current.current, System.nanoTime());
+            }
+            return generations;
+        } finally {
+            rotationLock.unlock();
+        }
+    }
+
+    private static class Generations {
+        private final Set<String> current;
+        private final Set<String> previous;
+        private final long startNanos;
+
+        Generations(Set<String> current, Set<String> previous, long startNanos) {
+            this.current = current;
+            this.previous = previous;
+            this.startNanos = startNanos;
+        }
+    }
+}
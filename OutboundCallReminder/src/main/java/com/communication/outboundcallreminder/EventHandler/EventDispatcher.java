@@ -6,97 +6,381 @@ import com.azure.communication.callingserver.models.events.CallingServerEventBas
 import com.azure.communication.callingserver.models.events.CallingServerEventType;
 import com.azure.communication.callingserver.models.events.PlayAudioResultEvent;
 import com.azure.communication.callingserver.models.events.ToneReceivedEvent;
-import com.azure.core.models.CloudEvent;
 import com.azure.core.util.BinaryData;
+import com.communication.outboundcallreminder.ConfigurationManager;
+import com.communication.outboundcallreminder.Logger;
+import com.communication.outboundcallreminder.Metrics.CallMetrics;
+import com.communication.outboundcallreminder.Metrics.LatencyPhase;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 public class EventDispatcher {
-    private static EventDispatcher instance = null;
-    private final Hashtable<String, NotificationCallback> notificationCallbacks;
+    /// Routing table from event class to its event type and the field identifying the subscriber
+    private static final Map<Class<? extends CallingServerEventBase>, EventRoute> eventRoutes = new HashMap<>();
+
+    static {
+        eventRoutes.put(CallConnectionStateChangedEvent.class,
+                new EventRoute(CallingServerEventType.CALL_CONNECTION_STATE_CHANGED_EVENT.toString(),
+                        (callEvent) -> ((CallConnectionStateChangedEvent) callEvent).getCallConnectionId()));
+        eventRoutes.put(ToneReceivedEvent.class,
+                new EventRoute(CallingServerEventType.TONE_RECEIVED_EVENT.toString(),
+                        (callEvent) -> ((ToneReceivedEvent) callEvent).getCallConnectionId()));
+        eventRoutes.put(PlayAudioResultEvent.class,
+                new EventRoute(CallingServerEventType.PLAY_AUDIO_RESULT_EVENT.toString(),
+                        (callEvent) -> ((PlayAudioResultEvent) callEvent).getOperationContext()));
+        eventRoutes.put(AddParticipantResultEvent.class,
+                new EventRoute(CallingServerEventType.ADD_PARTICIPANT_RESULT_EVENT.toString(),
+                        (callEvent) -> ((AddParticipantResultEvent) callEvent).getOperationContext()));
+    }
+
+    /// Deserializers for the CloudEvent types this sample subscribes to
+    private static final Map<String, Function<BinaryData, CallingServerEventBase>> eventDeserializers = new HashMap<>();
+
+    static {
+        eventDeserializers.put(CallingServerEventType.CALL_CONNECTION_STATE_CHANGED_EVENT.toString(),
+                CallConnectionStateChangedEvent::deserialize);
+        eventDeserializers.put(CallingServerEventType.TONE_RECEIVED_EVENT.toString(), ToneReceivedEvent::deserialize);
+        eventDeserializers.put(CallingServerEventType.PLAY_AUDIO_RESULT_EVENT.toString(), PlayAudioResultEvent::deserialize);
+        eventDeserializers.put(CallingServerEventType.ADD_PARTICIPANT_RESULT_EVENT.toString(),
+                AddParticipantResultEvent::deserialize);
+    }
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ConcurrentHashMap<EventKey, Subscription> notificationCallbacks;
+    private final ConcurrentHashMap<String, CallMailbox> callMailboxes;
+    private final DispatchWorkerPool workerPool;
+    private final SubscriptionReaper subscriptionReaper;
+    private final EventDeduplicator eventDeduplicator;
+    private final long subscriptionTtlNanos;
 
     EventDispatcher() {
-        notificationCallbacks = new Hashtable<>();
+        this(ConfigurationManager.getInstance().getAppSettings("EventDedupMaxEntries", 100000),
+                TimeUnit.SECONDS.toMillis(ConfigurationManager.getInstance().getAppSettings("EventDedupWindowSeconds", 600)));
+    }
+
+    /// <summary>
+    /// Dispatcher remembering at most dedupMaxEntries event ids for dedupWindowMillis. The application uses
+    /// the shared instance (getInstance); a separate one lets benchmarks and tests choose their own window.
+    /// </summary>
+    public EventDispatcher(int dedupMaxEntries, long dedupWindowMillis) {
+        ConfigurationManager configuration = ConfigurationManager.getInstance();
+        int poolSize = configuration.getAppSettings("EventDispatcherPoolSize",
+                Runtime.getRuntime().availableProcessors() * 2);
+        int queueSize = configuration.getAppSettings("EventDispatcherQueueSize", 10000);
+        DispatchWorkerPool.RejectionPolicy rejectionPolicy = parseRejectionPolicy(
+                configuration.getAppSettings("EventDispatcherRejectionPolicy", "CALLER_RUNS"));
+
+        notificationCallbacks = new ConcurrentHashMap<>();
+        callMailboxes = new ConcurrentHashMap<>();
+        workerPool = new DispatchWorkerPool(poolSize, queueSize, rejectionPolicy);
+        subscriptionTtlNanos = TimeUnit.SECONDS.toNanos(configuration.getAppSettings("SubscriptionTtlSeconds", 3600));
+        subscriptionReaper = new SubscriptionReaper(notificationCallbacks, this::expire);
+        eventDeduplicator = new EventDeduplicator(dedupMaxEntries, dedupWindowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /// <summary>
+    /// Parse the configured rejection policy; an unknown value must not break the dispatcher
+    /// </summary>
+    static DispatchWorkerPool.RejectionPolicy parseRejectionPolicy(String value) {
+        try {
+            return DispatchWorkerPool.RejectionPolicy.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            Logger.logMessage(Logger.MessageType.ERROR, "Invalid EventDispatcherRejectionPolicy -- > " + value + ", using CALLER_RUNS");
+            return DispatchWorkerPool.RejectionPolicy.CALLER_RUNS;
+        }
+    }
+
+    private static class InstanceHolder {
+        private static final EventDispatcher instance = new EventDispatcher();
     }
 
     /// <summary>
     /// Get instace of EventDispatcher
     /// </summary>
     public static EventDispatcher getInstance() {
-        if (instance == null) {
-            instance = new EventDispatcher();
-        }
-        return instance;
+        return InstanceHolder.instance;
+    }
+
+    /// <summary>
+    /// Stop the subscription reaper and the dispatch workers of a dispatcher that is no longer used.
+    /// The shared instance lives as long as the application; benchmarks and tests close their own.
+    /// </summary>
+    public void close() {
+        subscriptionReaper.close();
+        workerPool.shutdown();
     }
 
     public boolean subscribe(String eventType, String eventKey, NotificationCallback notificationCallback) {
-        String eventId = buildEventKey(eventType, eventKey);
-        synchronized (this) {
-            return (notificationCallbacks.put(eventId, notificationCallback) == null);
+        return subscribe(eventType, eventKey, null, notificationCallback);
+    }
+
+    /// <summary>
+    /// Subscribe to an event. Callbacks subscribed with the same mailbox key, typically the call
+    /// connection id, run one at a time in the order their events arrived.
+    /// </summary>
+    public boolean subscribe(String eventType, String eventKey, String mailboxKey, NotificationCallback notificationCallback) {
+        return subscribe(eventType, eventKey, mailboxKey, notificationCallback, null);
+    }
+
+    /// <summary>
+    /// Subscribe to an event on behalf of a task waiting for it. If no event arrives before the
+    /// subscription expires (SubscriptionTtlSeconds), the task is completed with a TimeoutException.
+    /// </summary>
+    public boolean subscribe(String eventType, String eventKey, String mailboxKey, NotificationCallback notificationCallback,
+            CompletableFuture<?> awaitedTask) {
+        EventKey eventId = buildEventKey(eventType, eventKey);
+        CallMailbox mailbox = (mailboxKey != null) ? acquireMailbox(mailboxKey) : null;
+        Subscription subscription = new Subscription(eventId, mailboxKey, mailbox, notificationCallback, awaitedTask,
+                System.nanoTime() + subscriptionTtlNanos);
+        subscriptionReaper.track(subscription);
+        Subscription replaced = notificationCallbacks.put(eventId, subscription);
+        if (replaced != null) {
+            retire(replaced);
         }
+        return (replaced == null);
     }
 
     public void unsubscribe(String eventType, String eventKey) {
-        String eventId = buildEventKey(eventType, eventKey);
-        synchronized (this) {
-            notificationCallbacks.remove(eventId);
+        EventKey eventId = buildEventKey(eventType, eventKey);
+        Subscription subscription = notificationCallbacks.remove(eventId);
+        if (subscription != null) {
+            retire(subscription);
+        }
+    }
+
+    private CallMailbox acquireMailbox(String mailboxKey) {
+        return callMailboxes.compute(mailboxKey, (key, mailbox) -> {
+            CallMailbox acquired = (mailbox != null) ? mailbox
+                    : new CallMailbox(workerPool, (idle) -> removeIfUnused(key, idle));
+            acquired.subscriptionCount++;
+            return acquired;
+        });
+    }
+
+    /// <summary>
+    /// Release a subscription removed from the map, and its mailbox once no subscription uses it
+    /// </summary>
+    /// <returns>false if the subscription was already released.</returns>
+    private boolean retire(Subscription subscription) {
+        subscriptionReaper.untrack(subscription);
+        if (!subscription.release()) {
+            return false;
+        }
+        if (subscription.mailboxKey != null) {
+            callMailboxes.computeIfPresent(subscription.mailboxKey, (key, mailbox) -> {
+                mailbox.subscriptionCount--;
+                return isUnused(mailbox) ? null : mailbox;
+            });
+        }
+        return true;
+    }
+
+    /// <summary>
+    /// Remove a mailbox whose last events ran after its last subscription was released. A mailbox still
+    /// draining stays mapped, so a new subscription of the call reuses it instead of draining in parallel.
+    /// </summary>
+    private void removeIfUnused(String mailboxKey, CallMailbox idleMailbox) {
+        callMailboxes.computeIfPresent(mailboxKey,
+                (key, mailbox) -> (mailbox == idleMailbox && isUnused(mailbox)) ? null : mailbox);
+    }
+
+    private static boolean isUnused(CallMailbox mailbox) {
+        return mailbox.subscriptionCount == 0 && mailbox.isIdle();
+    }
+
+    /// Release a subscription evicted by the reaper and fail the task waiting for its event
+    private void expire(Subscription subscription) {
+        CompletableFuture<?> awaitedTask = subscription.awaitedTask;
+        if (retire(subscription) && awaitedTask != null) {
+            awaitedTask.completeExceptionally(new TimeoutException("Subscription expired without event -- > " + subscription.eventKey));
         }
     }
 
-    public String buildEventKey(String eventType, String eventKey) {
-        return (eventType + "-" + eventKey);
+    public EventKey buildEventKey(String eventType, String eventKey) {
+        return new EventKey(eventType, eventKey);
     }
 
     public void processNotification(String request) {
-        CallingServerEventBase callEvent = this.extractEvent(request);
+        long receivedNanos = System.nanoTime();
+        for (ParsedEvent parsedEvent : parseEvents(request)) {
+            CallingServerEventBase callEvent = parsedEvent.callEvent;
+            if (parsedEvent.eventId != null && !eventDeduplicator.markSeen(parsedEvent.eventId)) {
+                Logger.logMessage(Logger.MessageType.INFORMATION, "Dropping redelivered event -- > " + parsedEvent.eventId);
+                continue;
+            }
+
+            EventKey eventKey = getEventKey(callEvent);
+            final Subscription subscription = (eventKey != null) ? notificationCallbacks.get(eventKey) : null;
+            final NotificationCallback notificationCallback = (subscription != null) ? subscription.callback : null;
+            if (notificationCallback == null) {
+                continue;
+            }
 
-        if (callEvent != null) {
-            synchronized (this) {
-                final NotificationCallback notificationCallback = notificationCallbacks.get(getEventKey(callEvent));
-                if (notificationCallback != null) {
-                    new Thread(() -> notificationCallback.callback(callEvent)).start();
+            Runnable task = () -> invokeCallback(notificationCallback, callEvent, receivedNanos);
+            try {
+                if (subscription.mailbox != null) {
+                    subscription.mailbox.enqueue(task);
+                } else {
+                    workerPool.execute(task);
                 }
+            } catch (RejectedExecutionException ex) {
+                // The sender redelivers the failed notification, which must not be dropped as a duplicate
+                if (parsedEvent.eventId != null) {
+                    eventDeduplicator.forget(parsedEvent.eventId);
+                }
+                throw ex;
             }
         }
     }
 
-    public String getEventKey(CallingServerEventBase callEventBase) {
-        if (callEventBase.getClass() == CallConnectionStateChangedEvent.class) {
-            String callLegId = ((CallConnectionStateChangedEvent) callEventBase).getCallConnectionId();
-            return buildEventKey(CallingServerEventType.CALL_CONNECTION_STATE_CHANGED_EVENT.toString(), callLegId);
-        } else if (callEventBase.getClass() == ToneReceivedEvent.class) {
-            String callLegId = ((ToneReceivedEvent) callEventBase).getCallConnectionId();
-            return buildEventKey(CallingServerEventType.TONE_RECEIVED_EVENT.toString(), callLegId);
-        } else if (callEventBase.getClass() == PlayAudioResultEvent.class) {
-            String operationContext = ((PlayAudioResultEvent) callEventBase).getOperationContext();
-            return buildEventKey(CallingServerEventType.PLAY_AUDIO_RESULT_EVENT.toString(), operationContext);
-        } else if (callEventBase.getClass() == AddParticipantResultEvent.class) {
-            String operationContext = ((AddParticipantResultEvent) callEventBase).getOperationContext();
-            return buildEventKey(CallingServerEventType.ADD_PARTICIPANT_RESULT_EVENT.toString(), operationContext);
-        }
-        
-        return null;
+    public int getQueuedCount() {
+        return workerPool.getQueuedCount();
     }
 
-    public CallingServerEventBase extractEvent(String content) {
+    public long getRejectedCount() {
+        return workerPool.getRejectedCount();
+    }
+
+    public int getSubscriptionCount() {
+        return notificationCallbacks.size();
+    }
+
+    public int getMailboxCount() {
+        return callMailboxes.size();
+    }
+
+    /// Number of subscriptions evicted because no event arrived before their deadline
+    public long getExpiredSubscriptionCount() {
+        return subscriptionReaper.getExpiredCount();
+    }
+
+    /// Number of redelivered events dropped
+    public long getDuplicateEventCount() {
+        return eventDeduplicator.getDuplicateCount();
+    }
+
+    private void invokeCallback(NotificationCallback notificationCallback, CallingServerEventBase callEvent, long receivedNanos) {
+        CallMetrics.getInstance().recordSince(LatencyPhase.EVENT_DISPATCH_LAG, receivedNanos);
         try {
-            List<CloudEvent> cloudEvents = CloudEvent.fromString(content);
-            CloudEvent cloudEvent = cloudEvents.get(0);
-            BinaryData eventData = cloudEvent.getData();
-
-            if (cloudEvent.getType().equals(CallingServerEventType.CALL_CONNECTION_STATE_CHANGED_EVENT.toString())) {
-                return CallConnectionStateChangedEvent.deserialize(eventData);
-            } else if (cloudEvent.getType().equals(CallingServerEventType.TONE_RECEIVED_EVENT.toString())) {
-                return ToneReceivedEvent.deserialize(eventData);
-            } else if (cloudEvent.getType().equals(CallingServerEventType.PLAY_AUDIO_RESULT_EVENT.toString())) {
-                return PlayAudioResultEvent.deserialize(eventData);
-            } else if (cloudEvent.getType().equals(CallingServerEventType.ADD_PARTICIPANT_RESULT_EVENT.toString())) {
-                return AddParticipantResultEvent.deserialize(eventData);
+            notificationCallback.callback(callEvent);
+        } catch (Exception ex) {
+            Logger.logMessage(Logger.MessageType.ERROR, "Notification callback failed -- > " + ex.getMessage());
+        }
+    }
+
+    public EventKey getEventKey(CallingServerEventBase callEventBase) {
+        EventRoute route = eventRoutes.get(callEventBase.getClass());
+        if (route == null) {
+            return null;
+        }
+
+        String key = route.keyExtractor.apply(callEventBase);
+        return (key != null) ? new EventKey(route.eventType, key) : null;
+    }
+
+    /// <summary>
+    /// Parse every CloudEvent of a callback delivery in a single streaming pass.
+    /// The delivery can be a single event or a batch (JSON array) of events.
+    /// </summary>
+    public List<CallingServerEventBase> extractEvents(String content) {
+        List<CallingServerEventBase> callEvents = new ArrayList<>();
+        for (ParsedEvent parsedEvent : parseEvents(content)) {
+            callEvents.add(parsedEvent.callEvent);
+        }
+        return callEvents;
+    }
+
+    private List<ParsedEvent> parseEvents(String content) {
+        List<ParsedEvent> callEvents = new ArrayList<>();
+        if (content == null || content.isEmpty()) {
+            return callEvents;
+        }
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(content)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    addEvent(parser, callEvents);
+                }
+            } else if (token == JsonToken.START_OBJECT) {
+                addEvent(parser, callEvents);
             }
         } catch (Exception ex) {
-            System.out.println("Failed to parse request content Exception: " + ex.getMessage());
+            Logger.logMessage(Logger.MessageType.ERROR, "Failed to parse request content Exception: " + ex.getMessage());
+        }
+
+        return callEvents;
+    }
+
+    private void addEvent(JsonParser parser, List<ParsedEvent> callEvents) throws IOException {
+        String eventId = null;
+        String eventType = null;
+        BinaryData eventData = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+
+            if ("id".equals(fieldName)) {
+                eventId = parser.getValueAsString();
+            } else if ("type".equals(fieldName)) {
+                eventType = parser.getValueAsString();
+            } else if ("data".equals(fieldName)) {
+                eventData = (valueToken == JsonToken.VALUE_STRING) ? BinaryData.fromString(parser.getText())
+                        : BinaryData.fromString(objectMapper.readTree(parser).toString());
+            } else if ("data_base64".equals(fieldName)) {
+                // Binary event data (CloudEvents JSON format), same content as "data" once decoded
+                try {
+                    eventData = BinaryData.fromBytes(Base64.getDecoder().decode(parser.getValueAsString("")));
+                } catch (IllegalArgumentException ex) {
+                    Logger.logMessage(Logger.MessageType.ERROR, "Invalid data_base64 in event -- > " + ex.getMessage());
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        Function<BinaryData, CallingServerEventBase> deserializer = (eventType != null) ? eventDeserializers.get(eventType) : null;
+        if (deserializer != null && eventData != null) {
+            CallingServerEventBase callEvent;
+            try {
+                callEvent = deserializer.apply(eventData);
+            } catch (RuntimeException ex) {
+                // A malformed event must not drop the rest of the batch
+                Logger.logMessage(Logger.MessageType.ERROR, "Failed to deserialize " + eventType + " event -- > " + ex.getMessage());
+                return;
+            }
+            callEvents.add(new ParsedEvent(eventId, callEvent));
         }
+    }
+
+    private static class ParsedEvent {
+        private final String eventId;
+        private final CallingServerEventBase callEvent;
 
-        return null;
+        ParsedEvent(String eventId, CallingServerEventBase callEvent) {
+            this.eventId = eventId;
+            this.callEvent = callEvent;
+        }
     }
 
+    private static class EventRoute {
+        private final String eventType;
+        private final Function<CallingServerEventBase, String> keyExtractor;
+
+        EventRoute(String eventType, Function<CallingServerEventBase, String> keyExtractor) {
+            this.eventType = eventType;
+            this.keyExtractor = keyExtractor;
+        }
+    }
 }
@@ -0,0 +1,47 @@
+package com.communication.outboundcallreminder.EventHandler;
+
+/// <summary>
+/// Subscription key made of an event type and the call leg id or operation context it belongs to.
+/// The hash is computed once so lookups never rebuild it.
+/// </summary>
+public final class EventKey {
+    private final String eventType;
+    private final String key;
+    private final int hash;
+
+    public EventKey(String eventType, String key) {
+        this.eventType = eventType;
+        this.key = key;
+        this.hash = 31 * eventType.hashCode() + key.hashCode();
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof EventKey)) {
+            return false;
+        }
+        EventKey other = (EventKey) obj;
+        return hash == other.hash && key.equals(other.key) && eventType.equals(other.eventType);
+    }
+
+    @Override
+    public String toString() {
+        return eventType + "-" + key;
+    }
+}
@@ -0,0 +1,44 @@
+package com.communication.outboundcallreminder.EventHandler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/// <summary>
+/// Callback registered for an event key, evicted if no event arrives before its deadline.
+/// Subscriptions of the same call share a mailbox so their callbacks run one at a time.
+/// </summary>
+class Subscription {
+    final EventKey eventKey;
+    final String mailboxKey;
+    final CallMailbox mailbox;
+    /// Cleared on unsubscribe so the reaper's bucket does not keep the call flow reachable
+    volatile NotificationCallback callback;
+    /// Task the subscriber waits on, failed if the subscription expires; cleared with the callback
+    volatile CompletableFuture<?> awaitedTask;
+    final long deadlineNanos;
+    /// Bucket of the reaper the subscription is filed in
+    long reaperTick;
+
+    private static final AtomicReferenceFieldUpdater<Subscription, NotificationCallback> CALLBACK_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(Subscription.class, NotificationCallback.class, "callback");
+
+    Subscription(EventKey eventKey, String mailboxKey, CallMailbox mailbox, NotificationCallback callback,
+            CompletableFuture<?> awaitedTask, long deadlineNanos) {
+        this.eventKey = eventKey;
+        this.mailboxKey = mailboxKey;
+        this.mailbox = mailbox;
+        this.callback = callback;
+        this.awaitedTask = awaitedTask;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /// <returns>false if the subscription was already released.</returns>
+    boolean release() {
+        NotificationCallback current = callback;
+        if (current == null || !CALLBACK_UPDATER.compareAndSet(this, current, null)) {
+            return false;
+        }
+        awaitedTask = null;
+        return true;
+    }
+}
@@ -0,0 +1,114 @@
+package com.communication.outboundcallreminder.EventHandler;
+
+import com.communication.outboundcallreminder.Logger;
+import com.communication.outboundcallreminder.Scheduling.TimeoutScheduler;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/// <summary>
+/// Evicts subscriptions whose deadline passed. Subscriptions are filed in one bucket per second
+/// of deadline, so each tick only visits the subscriptions expiring in that second instead of
+/// scanning every subscription. A bucket is reaped once its second is over, so a subscription
+/// filed while its bucket is the current second is still reaped.
+/// </summary>
+class SubscriptionReaper {
+    private final ConcurrentHashMap<EventKey, Subscription> subscriptions;
+    private final Consumer<Subscription> onExpired;
+    private final ConcurrentHashMap<Long, Set<Subscription>> buckets = new ConcurrentHashMap<>();
+    private final long originNanos = System.nanoTime();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final ReentrantLock reapLock = new ReentrantLock();
+    private final long tickNanos;
+    private final ScheduledFuture<?> reapTask;
+    private long nextTick;
+
+    SubscriptionReaper(ConcurrentHashMap<EventKey, Subscription> subscriptions, Consumer<Subscription> onExpired) {
+        this(subscriptions, onExpired, TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /// Reaper with buckets of tickNanos, so tests do not wait whole seconds for an expiry
+    SubscriptionReaper(ConcurrentHashMap<EventKey, Subscription> subscriptions, Consumer<Subscription> onExpired, long tickNanos) {
+        this.subscriptions = subscriptions;
+        this.onExpired = onExpired;
+        this.tickNanos = tickNanos;
+        reapTask = TimeoutScheduler.getInstance().scheduleAtFixedRate(this::reap, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void track(Subscription subscription) {
+        // A deadline already passed is filed in the next bucket, one that has not been reaped yet
+        long tick = Math.max(tickOf(subscription.deadlineNanos), tickOf(System.nanoTime())) + 1;
+        subscription.reaperTick = tick;
+        buckets.computeIfAbsent(tick, (key) -> ConcurrentHashMap.newKeySet()).add(subscription);
+    }
+
+    /// Forget a subscription removed before its deadline, so its bucket does not hold it until then
+    void untrack(Subscription subscription) {
+        Set<Subscription> bucket = buckets.get(subscription.reaperTick);
+        if (bucket != null) {
+            bucket.remove(subscription);
+        }
+    }
+
+    /// <summary>
+    /// Stop reaping. The task runs on the shared TimeoutScheduler, so a dispatcher that is thrown away
+    /// would otherwise keep it, and every subscription it still holds, alive for the life of the process.
+    /// </summary>
+    void close() {
+        reapTask.cancel(false);
+    }
+
+    /// Number of subscriptions filed in a bucket, expired or not
+    int getTrackedCount() {
+        int count = 0;
+        for (Set<Subscription> bucket : buckets.values()) {
+            count += bucket.size();
+        }
+        return count;
+    }
+
+    long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    private long tickOf(long nanos) {
+        return (nanos - originNanos) / tickNanos;
+    }
+
+    private void reap() {
+        // Skip this tick if the previous one is still running
+        if (!reapLock.tryLock()) {
+            return;
+        }
+        try {
+            reapExpired();
+        } finally {
+            reapLock.unlock();
+        }
+    }
+
+    private void reapExpired() {
+        long currentTick = tickOf(System.nanoTime());
+        // The current second's bucket can still receive subscriptions, it is reaped on the next tick
+        for (; nextTick < currentTick; nextTick++) {
+            Set<Subscription> bucket = buckets.remove(nextTick);
+            if (bucket == null) {
+                continue;
+            }
+
+            for (Subscription subscription : bucket) {
+                // Only evict the subscription filed here, not one registered again under the same key
+                if (subscriptions.remove(subscription.eventKey, subscription)) {
+                    expiredCount.incrementAndGet();
+                    onExpired.accept(subscription);
+                    Logger.logMessage(Logger.MessageType.ERROR, "Subscription expired without event -- > " + subscription.eventKey);
+                }
+            }
+        }
+    }
+}
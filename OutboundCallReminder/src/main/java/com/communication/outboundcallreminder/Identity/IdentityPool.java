@@ -0,0 +1,325 @@
+package com.communication.outboundcallreminder.Identity;
+
+import com.azure.communication.common.CommunicationUserIdentifier;
+import com.azure.communication.identity.CommunicationIdentityClient;
+import com.azure.communication.identity.CommunicationIdentityClientBuilder;
+import com.azure.communication.identity.models.CommunicationTokenScope;
+import com.azure.core.exception.HttpResponseException;
+import com.communication.outboundcallreminder.CallFlowExecutor;
+import com.communication.outboundcallreminder.Cluster.ClusterMembership;
+import com.communication.outboundcallreminder.ConfigurationManager;
+import com.communication.outboundcallreminder.Logger;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/// <summary>
+/// Source identities created ahead of time and kept in a file across runs, so a campaign
+/// does not wait for the identity service before its first call. The pool is health checked
+/// and refilled in the background while the campaign runs.
+/// Identities in use are kept in the file as leases ("leased=<identity>"), so the identities of a
+/// run that crashed before releasing them are reclaimed by the next run instead of being leaked.
+/// A run holds a lock on "<file>.lock" while it uses the file, so another instance sharing the file
+/// does not reclaim identities that are still in use; in a cluster each node also gets its own file.
+/// </summary>
+public class IdentityPool {
+    private static final List<CommunicationTokenScope> HEALTH_CHECK_SCOPES = Collections.singletonList(CommunicationTokenScope.VOIP);
+    private static final String LEASED_PREFIX = "leased=";
+
+    private final CommunicationIdentityClient identityClient;
+    /// File of the pool, or null if another instance holds it
+    private final Path poolFile;
+    private final int poolSize;
+    private final LinkedList<String> identities = new LinkedList<>();
+    /// Identities acquired and not released yet; they still count towards the pool size
+    private final List<String> leased = new ArrayList<>();
+    /// Guards identities and leased; held only for in-memory updates
+    private final ReentrantLock lock = new ReentrantLock();
+    /// Serializes the writes of the pool file
+    private final ReentrantLock saveLock = new ReentrantLock();
+    /// Changes of the pool, and the last one written to the file
+    private long version;
+    private long savedVersion;
+    private volatile CompletableFuture<Void> refillTask = CompletableFuture.completedFuture(null);
+
+    public IdentityPool(String connectionString) {
+        this(new CommunicationIdentityClientBuilder().connectionString(connectionString).buildClient(),
+                poolFileOf(ConfigurationManager.getInstance().getAppSettings("IdentityPoolFile", "identity-pool.txt"),
+                        ClusterMembership.getInstance().isEnabled() ? ClusterMembership.getInstance().getLocalNodeId() : ""),
+                ConfigurationManager.getInstance().getAppSettings("IdentityPoolSize", 2));
+    }
+
+    IdentityPool(CommunicationIdentityClient identityClient, Path poolFile, int poolSize) {
+        this.identityClient = identityClient;
+        this.poolSize = Math.max(1, poolSize);
+        this.poolFile = lockPoolFile(poolFile) ? poolFile : null;
+
+        try {
+            if (this.poolFile != null && Files.exists(poolFile)) {
+                for (String line : Files.readAllLines(poolFile, StandardCharsets.UTF_8)) {
+                    String identity = line.trim();
+                    if (identity.startsWith(LEASED_PREFIX)) {
+                        // Leased by a run that did not release it
+                        identity = identity.substring(LEASED_PREFIX.length());
+                        Logger.logMessage(Logger.MessageType.INFORMATION, "Reclaiming identity leased by a previous run -- > " + identity);
+                    }
+                    if (!identity.isEmpty()) {
+                        identities.add(identity);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            Logger.logMessage(Logger.MessageType.ERROR, "Failed to read identity pool -- > " + ex.getMessage());
+        }
+    }
+
+    /// <summary>
+    /// Pool file of a node: "identity-pool.txt" becomes "identity-pool-node1.txt" for node1
+    /// </summary>
+    static Path poolFileOf(String fileName, String nodeId) {
+        if (nodeId == null || nodeId.isEmpty()) {
+            return Paths.get(fileName);
+        }
+        Path file = Paths.get(fileName);
+        String name = file.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        return file.resolveSibling((extension > 0)
+                ? name.substring(0, extension) + "-" + nodeId + name.substring(extension)
+                : name + "-" + nodeId);
+    }
+
+    /// <summary>
+    /// Lock the pool file for the life of the process. The lock is released by the operating system when
+    /// the process exits, so a crashed run does not keep the identities it leased from the next one.
+    /// </summary>
+    /// <returns>false if another instance uses the file; this pool then neither reads nor writes it.</returns>
+    private static boolean lockPoolFile(Path poolFile) {
+        Path lockFile = poolFile.resolveSibling(poolFile.getFileName() + ".lock");
+        try {
+            FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock fileLock;
+            try {
+                fileLock = channel.tryLock();
+            } catch (OverlappingFileLockException ex) {
+                fileLock = null;
+            }
+            if (fileLock == null) {
+                channel.close();
+                Logger.logMessage(Logger.MessageType.ERROR, "Identity pool is used by another instance, not pooling identities -- > " + poolFile);
+                return false;
+            }
+            // The channel stays open, and the lock held, until the process exits
+            return true;
+        } catch (IOException ex) {
+            Logger.logMessage(Logger.MessageType.ERROR, "Failed to lock identity pool, not pooling identities -- > " + ex.getMessage());
+            return false;
+        }
+    }
+
+    /// Identities waiting in the pool, not counting the leased ones
+    int getAvailableCount() {
+        lock.lock();
+        try {
+            return identities.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /// <summary>
+    /// Take a source identity from the pool, creating one only when the pool is empty
+    /// </summary>
+    public String acquire() {
+        String identity;
+        lock.lock();
+        try {
+            identity = identities.pollFirst();
+            if (identity != null) {
+                leased.add(identity);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (identity == null) {
+            Logger.logMessage(Logger.MessageType.INFORMATION, "Identity pool is empty, creating source identity");
+            identity = identityClient.createUser().getId();
+            lock.lock();
+            try {
+                leased.add(identity);
+            } finally {
+                lock.unlock();
+            }
+        }
+        save();
+
+        // Without its file the pool would not outlive this run, so identities are not created ahead of time
+        if (poolFile != null) {
+            refillAsync();
+        }
+        return identity;
+    }
+
+    /// <summary>
+    /// Return an identity to the pool for the next run, or delete it if the pool is full or has no file
+    /// </summary>
+    public void release(String identity) {
+        refillTask.join();
+
+        boolean pooled;
+        lock.lock();
+        try {
+            leased.remove(identity);
+            pooled = poolFile != null && identities.size() + leased.size() < poolSize;
+            if (pooled) {
+                identities.addFirst(identity);
+            }
+        } finally {
+            lock.unlock();
+        }
+        save();
+
+        if (!pooled) {
+            identityClient.deleteUser(new CommunicationUserIdentifier(identity));
+        }
+    }
+
+    /// <summary>
+    /// Drop the identities the service no longer accepts and create new ones up to the pool size
+    /// </summary>
+    private void refillAsync() {
+        lock.lock();
+        try {
+            refillTask = refillTask.thenRunAsync(this::refill, CallFlowExecutor.getInstance()).exceptionally(ex -> {
+                Logger.logMessage(Logger.MessageType.ERROR, "Failed to refill identity pool -- > " + ex.getMessage());
+                return null;
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill() {
+        List<String> pooled;
+        lock.lock();
+        try {
+            pooled = new ArrayList<>(identities);
+        } finally {
+            lock.unlock();
+        }
+
+        for (String identity : pooled) {
+            if (!isHealthy(identity)) {
+                Logger.logMessage(Logger.MessageType.INFORMATION, "Removing invalid identity from the pool -- > " + identity);
+                lock.lock();
+                try {
+                    identities.remove(identity);
+                } finally {
+                    lock.unlock();
+                }
+                deleteQuietly(identity);
+            }
+        }
+
+        while (true) {
+            lock.lock();
+            try {
+                if (identities.size() + leased.size() >= poolSize) {
+                    break;
+                }
+            } finally {
+                lock.unlock();
+            }
+            String identity = identityClient.createUser().getId();
+            lock.lock();
+            try {
+                identities.addLast(identity);
+            } finally {
+                lock.unlock();
+            }
+        }
+        save();
+    }
+
+    /// <summary>
+    /// Check an identity by issuing a token for it. Only a definitive answer from the service (the identity
+    /// is not found or not authorized) condemns it; a transient failure keeps it in the pool.
+    /// </summary>
+    private boolean isHealthy(String identity) {
+        try {
+            identityClient.getToken(new CommunicationUserIdentifier(identity), HEALTH_CHECK_SCOPES);
+            return true;
+        } catch (HttpResponseException ex) {
+            int statusCode = (ex.getResponse() != null) ? ex.getResponse().getStatusCode() : 0;
+            if (statusCode == 404 || statusCode == 401) {
+                return false;
+            }
+            Logger.logMessage(Logger.MessageType.ERROR, "Failed to check identity " + identity + ", keeping it -- > " + ex.getMessage());
+            return true;
+        } catch (RuntimeException ex) {
+            Logger.logMessage(Logger.MessageType.ERROR, "Failed to check identity " + identity + ", keeping it -- > " + ex.getMessage());
+            return true;
+        }
+    }
+
+    /// Delete a discarded identity on the service too, so it does not outlive the pool
+    private void deleteQuietly(String identity) {
+        try {
+            identityClient.deleteUser(new CommunicationUserIdentifier(identity));
+        } catch (RuntimeException ex) {
+            Logger.logMessage(Logger.MessageType.INFORMATION, "Could not delete discarded identity " + identity + " -- > " + ex.getMessage());
+        }
+    }
+
+    /// <summary>
+    /// Write the pool to its file. The file is written outside the pool lock so the calls taking or
+    /// returning an identity never wait for the disk; a snapshot older than the last one written is skipped.
+    /// </summary>
+    private void save() {
+        List<String> lines;
+        long snapshotVersion;
+        lock.lock();
+        try {
+            lines = new ArrayList<>(identities);
+            for (String identity : leased) {
+                lines.add(LEASED_PREFIX + identity);
+            }
+            snapshotVersion = ++version;
+        } finally {
+            lock.unlock();
+        }
+
+        if (poolFile == null) {
+            return;
+        }
+
+        saveLock.lock();
+        try {
+            if (snapshotVersion <= savedVersion) {
+                return;
+            }
+            Path temporaryFile = poolFile.resolveSibling(poolFile.getFileName() + ".tmp");
+            Files.write(temporaryFile, lines, StandardCharsets.UTF_8);
+            Files.move(temporaryFile, poolFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            savedVersion = snapshotVersion;
+        } catch (IOException ex) {
+            Logger.logMessage(Logger.MessageType.ERROR, "Failed to save identity pool -- > " + ex.getMessage());
+        } finally {
+            saveLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.communication.outboundcallreminder.Ingress;
+
+import com.communication.outboundcallreminder.Logger;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/// <summary>
+/// Ingress for a host the calling service can already reach (public address, load balancer or
+/// reverse proxy): the app is ready as soon as the local port accepts connections.
+/// </summary>
+public class DirectIngressProvider implements IngressProvider {
+    private static final int CONNECT_TIMEOUT_MILLIS = 200;
+
+    private final String publicBaseUrl;
+    private final ReadinessProbe readinessProbe;
+
+    public DirectIngressProvider(String publicBaseUrl, ReadinessProbe readinessProbe) {
+        this.publicBaseUrl = publicBaseUrl.endsWith("/")
+                ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1) : publicBaseUrl;
+        this.readinessProbe = readinessProbe;
+    }
+
+    @Override
+    public String start(int localPort, long timeoutMillis) {
+        if (publicBaseUrl.isEmpty()) {
+            Logger.logMessage(Logger.MessageType.ERROR, "PublicBaseUrl is required by the direct ingress");
+            return null;
+        }
+
+        try {
+            Boolean listening = readinessProbe.await(() -> isListening(localPort) ? Boolean.TRUE : null, timeoutMillis);
+            if (listening == null) {
+                Logger.logMessage(Logger.MessageType.ERROR, "Local port is not listening -- > " + localPort);
+                return null;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        return publicBaseUrl;
+    }
+
+    @Override
+    public void dispose() {
+        // Nothing was started
+    }
+
+    private static boolean isListening(int port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("localhost", port), CONNECT_TIMEOUT_MILLIS);
+            return true;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+}
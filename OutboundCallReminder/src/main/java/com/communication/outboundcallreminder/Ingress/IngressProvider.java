@@ -0,0 +1,19 @@
+package com.communication.outboundcallreminder.Ingress;
+
+/// <summary>
+/// Makes the local web server reachable by the calling service, which sends its callbacks to the public base URL.
+/// </summary>
+public interface IngressProvider {
+    /// <summary>
+    /// Start the ingress and wait until it forwards requests to the local port
+    /// </summary>
+    /// <param name="localPort">Port the web server listens on.</param>
+    /// <param name="timeoutMillis">How long to wait for the ingress to be ready.</param>
+    /// <returns>Public base URL of the app, or null if the ingress did not become ready in time.</returns>
+    String start(int localPort, long timeoutMillis);
+
+    /// <summary>
+    /// Stop the ingress
+    /// </summary>
+    void dispose();
+}
@@ -0,0 +1,25 @@
+package com.communication.outboundcallreminder.Ingress;
+
+import com.communication.outboundcallreminder.ConfigurationManager;
+import com.communication.outboundcallreminder.Ngrok.NgrokService;
+
+/// <summary>
+/// Creates the ingress provider selected by the IngressProvider setting (NGROK or DIRECT)
+/// </summary>
+public final class IngressProviders {
+    private IngressProviders() {
+    }
+
+    public static IngressProvider create() {
+        ConfigurationManager configuration = ConfigurationManager.getInstance();
+        ReadinessProbe readinessProbe = new ReadinessProbe(
+                configuration.getAppSettings("IngressProbeInitialIntervalMillis", 50),
+                configuration.getAppSettings("IngressProbeMaxIntervalMillis", 500));
+
+        String provider = configuration.getAppSettings("IngressProvider", "NGROK");
+        if (provider.equalsIgnoreCase("DIRECT")) {
+            return new DirectIngressProvider(configuration.getAppSettings("PublicBaseUrl", ""), readinessProbe);
+        }
+        return new NgrokService(configuration.getAppSettings("NgrokExePath", ""), null, readinessProbe);
+    }
+}
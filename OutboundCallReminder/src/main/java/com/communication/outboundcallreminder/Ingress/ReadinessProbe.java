@@ -0,0 +1,41 @@
+package com.communication.outboundcallreminder.Ingress;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/// <summary>
+/// Polls a probe until it returns a value. The first polls are a few milliseconds apart, and the
+/// interval doubles up to maxIntervalMillis, so a fast ingress is picked up almost immediately while a
+/// slow one is not polled in a busy loop.
+/// </summary>
+public class ReadinessProbe {
+    private final long initialIntervalMillis;
+    private final long maxIntervalMillis;
+
+    public ReadinessProbe(long initialIntervalMillis, long maxIntervalMillis) {
+        this.initialIntervalMillis = Math.max(1, initialIntervalMillis);
+        this.maxIntervalMillis = Math.max(this.initialIntervalMillis, maxIntervalMillis);
+    }
+
+    /// <summary>
+    /// Poll the probe until it returns a non null value or the timeout elapses
+    /// </summary>
+    /// <returns>Value returned by the probe, or null on timeout.</returns>
+    public <T> T await(Supplier<T> probe, long timeoutMillis) throws InterruptedException {
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long intervalMillis = initialIntervalMillis;
+        while (true) {
+            T value = probe.get();
+            if (value != null) {
+                return value;
+            }
+
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+            if (remainingMillis <= 0) {
+                return null;
+            }
+            Thread.sleep(Math.min(intervalMillis, remainingMillis));
+            intervalMillis = Math.min(intervalMillis * 2, maxIntervalMillis);
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.communication.outboundcallreminder.Journal;
+
+import com.communication.outboundcallreminder.CallState;
+import com.communication.outboundcallreminder.ConfigurationManager;
+import com.communication.outboundcallreminder.Logger;
+import com.communication.outboundcallreminder.Scheduling.TimeoutScheduler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/// <summary>
+/// Append-only journal of call state transitions in a memory-mapped file. Records written to
+/// the mapping survive a crash of the process, so a restarted campaign can skip the calls that
+/// already finished and re-dial only those that were in progress.
+/// Record layout: length (int, written last), CRC32 of the body (int), body = state ordinal (byte),
+/// time of the transition (long, epoch millis), call key and call connection id as UTF-8 separated by '\n'.
+/// The journal is kept in generation files ("<file>.<generation>"). Compaction writes the next
+/// generation instead of replacing the mapped file, which cannot be renamed over or deleted on
+/// Windows while it is mapped; older generations are deleted once they are no longer needed.
+/// </summary>
+public class CallStateJournal {
+    private static final int HEADER_SIZE = 8;
+    /// State ordinal and transition time
+    private static final int FIXED_BODY_SIZE = 1 + 8;
+    private static final CallState[] STATES = CallState.values();
+
+    private final Path journalFile;
+    private final int journalSize;
+    private final long retentionMillis;
+    private final ConcurrentHashMap<String, JournalEntry> latest = new ConcurrentHashMap<>();
+    /// Guards the mapping; a lock rather than synchronized so waiting virtual threads do not pin their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private FileChannel channel;
+    private volatile MappedByteBuffer mapping;
+    private int recordCount;
+    private long generation;
+    /// Set when a transition is known in memory but could not be written; the next compaction retries
+    private boolean unpersisted;
+
+    private CallStateJournal() {
+        this(configuredJournalFile(), ConfigurationManager.getInstance().getAppSettings("CallJournalSizeBytes", 16 * 1024 * 1024),
+                TimeUnit.HOURS.toMillis(ConfigurationManager.getInstance().getAppSettings("CallJournalRetentionHours", 168)));
+
+        if (mapping != null) {
+            ConfigurationManager configuration = ConfigurationManager.getInstance();
+            int flushIntervalMillis = configuration.getAppSettings("CallJournalFlushIntervalMillis", 1000);
+            TimeoutScheduler.getInstance().scheduleAtFixedRate(this::flush, flushIntervalMillis, TimeUnit.MILLISECONDS);
+            int compactionIntervalSeconds = configuration.getAppSettings("CallJournalCompactionIntervalSeconds", 300);
+            TimeoutScheduler.getInstance().scheduleAtFixedRate(this::compactIfSparse, compactionIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /// <summary>
+    /// Open a journal and recover its calls, without the periodic flush and compaction of the configured journal
+    /// </summary>
+    /// <param name="journalFile">Base name of the generation files, or null to disable the journal.</param>
+    CallStateJournal(Path journalFile, int journalSize, long retentionMillis) {
+        this.journalFile = journalFile;
+        this.journalSize = journalSize;
+        this.retentionMillis = retentionMillis;
+
+        if (journalFile == null) {
+            return;
+        }
+
+        try {
+            long startNanos = System.nanoTime();
+            open();
+            Logger.logMessage(Logger.MessageType.INFORMATION, "Recovered call journal with " + latest.size() + " calls, "
+                    + getUnfinishedCalls().size() + " unfinished, in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) + " ms");
+        } catch (IOException ex) {
+            Logger.logMessage(Logger.MessageType.ERROR, "Failed to open call journal " + journalFile + " -- > " + ex.getMessage());
+            mapping = null;
+        }
+    }
+
+    private static Path configuredJournalFile() {
+        String fileName = ConfigurationManager.getInstance().getAppSettings("CallJournalFile", "");
+        return fileName.isEmpty() ? null : Paths.get(fileName);
+    }
+
+    private static class InstanceHolder {
+        private static final CallStateJournal instance = new CallStateJournal();
+    }
+
+    /// <summary>
+    /// Get the journal configured by CallJournalFile; without a file every call is treated as new
+    /// </summary>
+    public static CallStateJournal getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    public static String keyOf(String targetPhoneNumber, String participant) {
+        return targetPhoneNumber + "," + participant;
+    }
+
+    public boolean isEnabled() {
+        return mapping != null;
+    }
+
+    /// <summary>
+    /// Whether the call ended normally (DISCONNECTED) in this or a previous run, within the retention window.
+    /// A FAILED call is not completed, so it is dialed again.
+    /// </summary>
+    public boolean isCompleted(String callKey) {
+        JournalEntry entry = latest.get(callKey);
+        return entry != null && entry.state == CallState.DISCONNECTED;
+    }
+
+    /// <summary>
+    /// Calls that were in progress when the journal was last written
+    /// </summary>
+    /// <returns>Call key to the call connection id of the call (empty if the call was not created yet).</returns>
+    public Map<String, String> getUnfinishedCalls() {
+        Map<String, String> unfinished = new LinkedHashMap<>();
+        for (Map.Entry<String, JournalEntry> entry : latest.entrySet()) {
+            if (!isFinal(entry.getValue().state)) {
+                unfinished.put(entry.getKey(), entry.getValue().callConnectionId);
+            }
+        }
+        return Collections.unmodifiableMap(unfinished);
+    }
+
+    /// <summary>
+    /// Record a state transition of a call
+    /// </summary>
+    public void append(String callKey, CallState state, String callConnectionId) {
+        if (mapping == null) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            appendRecord(callKey, state, callConnectionId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void appendRecord(String callKey, CallState state, String callConnectionId) {
+        JournalEntry previous = latest.get(callKey);
+        String connectionId = (callConnectionId != null) ? callConnectionId
+                : (previous != null && state != CallState.CREATING) ? previous.callConnectionId : "";
+        JournalEntry entry = new JournalEntry(state, System.currentTimeMillis(), connectionId);
+
+        byte[] body = encode(callKey, entry);
+        if (mapping.remaining() >= HEADER_SIZE + body.length + 4) {
+            write(mapping, body);
+            latest.put(callKey, entry);
+            recordCount++;
+            return;
+        }
+
+        // The journal is full: the compacted generation is written from memory, this transition included
+        latest.put(callKey, entry);
+        try {
+            compact();
+        } catch (IOException ex) {
+            unpersisted = true;
+            Logger.logMessage(Logger.MessageType.ERROR, "Failed to compact call journal, " + state + " of " + callKey
+                    + " is not persisted yet -- > " + ex.getMessage());
+        }
+    }
+
+    private static boolean isFinal(CallState state) {
+        return state == CallState.DISCONNECTED || state == CallState.FAILED;
+    }
+
+    private boolean isExpired(JournalEntry entry, long nowMillis) {
+        return isFinal(entry.state) && nowMillis - entry.timeMillis > retentionMillis;
+    }
+
+    private void open() throws IOException {
+        // Replay every generation, oldest first: a generation holds the latest state of each call at the
+        // time it was written, so a newer generation cut short by a crash is still completed by the older ones
+        for (long existing : listGenerations()) {
+            try (FileChannel existingChannel = FileChannel.open(generationFile(existing), StandardOpenOption.READ)) {
+                replay(existingChannel.map(FileChannel.MapMode.READ_ONLY, 0, existingChannel.size()));
+            }
+            generation = existing;
+        }
+        // Start from a compacted generation so the mapping has room and no torn record at its end
+        compact();
+    }
+
+    private Path generationFile(long fileGeneration) {
+        return journalFile.resolveSibling(journalFile.getFileName() + "." + fileGeneration);
+    }
+
+    private List<Long> listGenerations() throws IOException {
+        String prefix = journalFile.getFileName() + ".";
+        List<Long> generations = new ArrayList<>();
+        Path directory = journalFile.toAbsolutePath().getParent();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*")) {
+            for (Path file : files) {
+                String suffix = file.getFileName().toString().substring(prefix.length());
+                if (!suffix.isEmpty() && suffix.chars().allMatch(Character::isDigit)) {
+                    generations.add(Long.parseLong(suffix));
+                }
+            }
+        }
+        Collections.sort(generations);
+        return generations;
+    }
+
+    private void replay(MappedByteBuffer records) {
+        while (records.remaining() >= HEADER_SIZE) {
+            int length = records.getInt(records.position());
+            if (length <= 0 || length > records.remaining() - HEADER_SIZE) {
+                break;
+            }
+
+            int checksum = records.getInt(records.position() + 4);
+            byte[] body = new byte[length];
+            records.position(records.position() + HEADER_SIZE);
+            records.get(body);
+            if (checksum(body) != checksum) {
+                Logger.logMessage(Logger.MessageType.ERROR, "Call journal record is corrupt, ignoring the rest of the journal");
+                break;
+            }
+            decode(body);
+        }
+    }
+
+    private void decode(byte[] body) {
+        if (body.length < FIXED_BODY_SIZE) {
+            return;
+        }
+        ByteBuffer fields = ByteBuffer.wrap(body);
+        int state = fields.get();
+        long timeMillis = fields.getLong();
+        String text = new String(body, FIXED_BODY_SIZE, body.length - FIXED_BODY_SIZE, StandardCharsets.UTF_8);
+        int separator = text.indexOf('\n');
+        if (state < 0 || state >= STATES.length || separator < 0) {
+            return;
+        }
+        latest.put(text.substring(0, separator), new JournalEntry(STATES[state], timeMillis, text.substring(separator + 1)));
+    }
+
+    /// <summary>
+    /// Write the latest state of each call to the next generation and switch to it; called with the lock held.
+    /// Finished calls past the retention window are left out.
+    /// </summary>
+    private void compact() throws IOException {
+        long nowMillis = System.currentTimeMillis();
+        latest.values().removeIf(entry -> isExpired(entry, nowMillis));
+
+        Map<String, byte[]> records = new LinkedHashMap<>();
+        long liveSize = 0;
+        for (Map.Entry<String, JournalEntry> entry : latest.entrySet()) {
+            byte[] body = encode(entry.getKey(), entry.getValue());
+            records.put(entry.getKey(), body);
+            liveSize += HEADER_SIZE + body.length;
+        }
+        // Keep at least half of the journal free for new records
+        long size = Math.max(journalSize, 2 * liveSize + HEADER_SIZE);
+
+        long nextGeneration = generation + 1;
+        Path compacted = generationFile(nextGeneration);
+        // Left over by a compaction that failed before it was complete
+        Files.deleteIfExists(compacted);
+        FileChannel compactedChannel = FileChannel.open(compacted, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer compactedMapping;
+        try {
+            compactedMapping = compactedChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            for (byte[] body : records.values()) {
+                write(compactedMapping, body);
+            }
+            compactedMapping.force();
+        } catch (IOException ex) {
+            compactedChannel.close();
+            throw ex;
+        }
+        if (channel != null) {
+            channel.close();
+        }
+        channel = compactedChannel;
+        mapping = compactedMapping;
+        generation = nextGeneration;
+        recordCount = records.size();
+        unpersisted = false;
+        deleteOldGenerations();
+    }
+
+    /// Older generations are superseded once the current one is forced. A file still mapped cannot be
+    /// deleted on Windows until its mapping is collected, so a failed delete is retried on the next compaction.
+    private void deleteOldGenerations() {
+        try {
+            for (long oldGeneration : listGenerations()) {
+                if (oldGeneration < generation) {
+                    try {
+                        Files.deleteIfExists(generationFile(oldGeneration));
+                    } catch (IOException ex) {
+                        // Still mapped; replaying it before the current generation is harmless
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            Logger.logMessage(Logger.MessageType.ERROR, "Failed to list call journal generations -- > " + ex.getMessage());
+        }
+    }
+
+    /// Compact when most records are superseded transitions or finished calls past the retention window,
+    /// so the file stays proportional to the number of calls; also retries a compaction that failed
+    private void compactIfSparse() {
+        lock.lock();
+        try {
+            if (mapping == null) {
+                return;
+            }
+            long nowMillis = System.currentTimeMillis();
+            boolean expired = latest.values().stream().anyMatch(entry -> isExpired(entry, nowMillis));
+            if (unpersisted || expired || recordCount > 2 * latest.size() + 1000) {
+                compact();
+            }
+        } catch (IOException ex) {
+            Logger.logMessage(Logger.MessageType.ERROR, "Failed to compact call journal -- > " + ex.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /// <summary>
+    /// Write the dirty pages of the current generation to disk. Only the mapping is taken under the lock:
+    /// forcing it can wait for the disk, and appends must not wait with it. A generation replaced by a
+    /// compaction in the meantime stays mapped until collected, and forcing it is harmless.
+    /// </summary>
+    private void flush() {
+        MappedByteBuffer current;
+        lock.lock();
+        try {
+            current = mapping;
+        } finally {
+            lock.unlock();
+        }
+
+        if (current != null) {
+            current.force();
+        }
+    }
+
+    private static void write(MappedByteBuffer target, byte[] body) {
+        int position = target.position();
+        target.putInt(position + 4, checksum(body));
+        target.position(position + HEADER_SIZE);
+        target.put(body);
+        // The length marks the record as complete, so it is written last
+        target.putInt(position, body.length);
+    }
+
+    private static byte[] encode(String callKey, JournalEntry entry) {
+        byte[] text = (callKey + "\n" + entry.callConnectionId).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer body = ByteBuffer.allocate(FIXED_BODY_SIZE + text.length);
+        body.put((byte) entry.state.ordinal());
+        body.putLong(entry.timeMillis);
+        body.put(text);
+        return body.array();
+    }
+
+    private static int checksum(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    private static class JournalEntry {
+        private final CallState state;
+        private final long timeMillis;
+        private final String callConnectionId;
+
+        JournalEntry(CallState state, long timeMillis, String callConnectionId) {
+            this.state = state;
+            this.timeMillis = timeMillis;
+            this.callConnectionId = callConnectionId;
+        }
+    }
+}
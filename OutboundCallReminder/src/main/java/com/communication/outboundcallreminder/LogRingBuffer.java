@@ -0,0 +1,74 @@
+package com.communication.outboundcallreminder;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/// <summary>
+/// Bounded lock-free queue of log lines: many threads write, the logger thread reads.
+/// Each slot carries a sequence number telling whether it is free for the writer of a
+/// given position or holds a line ready for the reader.
+/// </summary>
+class LogRingBuffer {
+    private final int mask;
+    private final AtomicReferenceArray<String> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong writePosition = new AtomicLong();
+    private volatile long readPosition;
+
+    LogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        mask = size - 1;
+        slots = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /// <summary>
+    /// Add a line to the buffer
+    /// </summary>
+    /// <returns>false when the buffer is full.</returns>
+    boolean offer(String line) {
+        while (true) {
+            long position = writePosition.get();
+            int index = (int) position & mask;
+            long available = sequences.get(index) - position;
+
+            if (available == 0) {
+                if (writePosition.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, line);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (available < 0) {
+                return false;
+            }
+        }
+    }
+
+    /// <summary>
+    /// Take the oldest line; must only be called from the logger thread
+    /// </summary>
+    /// <returns>The line, or null when the buffer is empty.</returns>
+    String poll() {
+        int index = (int) readPosition & mask;
+        if (sequences.get(index) != readPosition + 1) {
+            return null;
+        }
+
+        String line = slots.get(index);
+        slots.lazySet(index, null);
+        sequences.set(index, readPosition + mask + 1);
+        readPosition++;
+        return line;
+    }
+
+    /// <summary>
+    /// Whether every line written so far, including lines still being written, has been taken
+    /// </summary>
+    boolean isEmpty() {
+        return writePosition.get() == readPosition;
+    }
+}
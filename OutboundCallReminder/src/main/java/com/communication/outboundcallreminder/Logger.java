@@ -1,5 +1,17 @@
 package com.communication.outboundcallreminder;
 
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
 public class Logger {
     //Caution: Logging should be removed/disabled if you want to use this sample in production to avoid exposing sensitive information
     public enum MessageType
@@ -8,6 +20,63 @@ public class Logger {
         ERROR
     }
 
+    public enum OverflowPolicy
+    {
+        /// Drop the message and count it
+        DROP,
+        /// Wait for the logger thread to make room
+        BLOCK
+    }
+
+    private static volatile MessageType logLevel = MessageType.INFORMATION;
+    private static volatile OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    private static volatile LogRingBuffer buffer;
+    private static volatile Thread writerThread;
+    private static volatile boolean writerParked;
+    private static final AtomicLong droppedCount = new AtomicLong();
+
+    /// <summary>
+    /// Read the log settings and start writing messages from a background thread.
+    /// Until this is called messages are written synchronously.
+    /// </summary>
+    public static synchronized void configure()
+    {
+        ConfigurationManager configurationManager = ConfigurationManager.getInstance();
+        logLevel = parseSetting("LogLevel", configurationManager.getAppSettings("LogLevel", MessageType.INFORMATION.name()), MessageType.INFORMATION);
+        overflowPolicy = parseSetting("LogOverflowPolicy", configurationManager.getAppSettings("LogOverflowPolicy", OverflowPolicy.DROP.name()), OverflowPolicy.DROP);
+
+        if (buffer == null) {
+            buffer = new LogRingBuffer(configurationManager.getAppSettings("LogBufferSize", 8192));
+            writerThread = new Thread(Logger::writeMessages, "async-logger");
+            writerThread.setDaemon(true);
+            writerThread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(Logger::flush, "async-logger-flush"));
+        }
+    }
+
+    /// <summary>
+    /// Parse an enum setting; an unknown value is reported and replaced by the default rather than failing startup
+    /// </summary>
+    static <T extends Enum<T>> T parseSetting(String key, String value, T defaultValue)
+    {
+        try {
+            return Enum.valueOf(defaultValue.getDeclaringClass(), value.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            logMessage(MessageType.ERROR, "Invalid " + key + " -- > " + value + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static boolean isEnabled(MessageType messageType)
+    {
+        return messageType.compareTo(logLevel) >= 0;
+    }
+
+    public static long getDroppedCount()
+    {
+        return droppedCount.get();
+    }
+
     /// <summary>
     /// Log message to console
     /// </summary>
@@ -15,8 +84,106 @@ public class Logger {
     /// <param name="message">Message string</param>
     public static void logMessage(MessageType messageType, String message)
     {
-        String logMessage;
-        logMessage = messageType + " " + message;
-       System.out.println(logMessage);
+        if (isEnabled(messageType)) {
+            write(messageType + " " + message);
+        }
+    }
+
+    /// <summary>
+    /// Log message to console, building it only when the message type is enabled
+    /// </summary>
+    /// <param name="messageType">Type of the message: Information or Error</param>
+    /// <param name="message">Supplier of the message string</param>
+    public static void logMessage(MessageType messageType, Supplier<String> message)
+    {
+        if (isEnabled(messageType)) {
+            write(messageType + " " + message.get());
+        }
+    }
+
+    private static void write(String logMessage)
+    {
+        LogRingBuffer ringBuffer = buffer;
+        if (ringBuffer == null) {
+            System.out.println(logMessage);
+            return;
+        }
+
+        if (!enqueue(ringBuffer, logMessage, overflowPolicy, writerThread)) {
+            droppedCount.incrementAndGet();
+            return;
+        }
+
+        if (writerParked) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /// <summary>
+    /// Add a message to the buffer, applying the overflow policy while it is full.
+    /// The writer thread never waits for itself, so its own messages are dropped when the buffer is full.
+    /// </summary>
+    /// <returns>false when the message was dropped.</returns>
+    static boolean enqueue(LogRingBuffer ringBuffer, String logMessage, OverflowPolicy policy, Thread writer)
+    {
+        while (!ringBuffer.offer(logMessage)) {
+            if (policy == OverflowPolicy.DROP || Thread.currentThread() == writer) {
+                return false;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        return true;
+    }
+
+    private static void writeMessages()
+    {
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), 64 * 1024);
+        long reportedDrops = 0;
+
+        while (true) {
+            try {
+                boolean wrote = false;
+                String line;
+                while ((line = buffer.poll()) != null) {
+                    out.write(line);
+                    out.write(System.lineSeparator());
+                    wrote = true;
+                }
+
+                long dropped = droppedCount.get();
+                if (dropped != reportedDrops) {
+                    out.write(MessageType.ERROR + " Log buffer full, dropped messages -- > " + (dropped - reportedDrops) + System.lineSeparator());
+                    reportedDrops = dropped;
+                    wrote = true;
+                }
+
+                if (wrote) {
+                    out.flush();
+                    continue;
+                }
+
+                /// Nothing left to write, wait until a message arrives
+                writerParked = true;
+                if (buffer.isEmpty()) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+                }
+                writerParked = false;
+            } catch (IOException ex) {
+                System.err.println("Failed to write log messages -- > " + ex.getMessage());
+            }
+        }
+    }
+
+    /// <summary>
+    /// Wait briefly for the logger thread to write the buffered messages
+    /// </summary>
+    private static void flush()
+    {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (buffer != null && !(buffer.isEmpty() && writerParked) && System.nanoTime() < deadline) {
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
     }
 }
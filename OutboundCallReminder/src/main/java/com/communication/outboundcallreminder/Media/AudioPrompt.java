@@ -0,0 +1,48 @@
+package com.communication.outboundcallreminder.Media;
+
+import java.nio.ByteBuffer;
+import java.nio.file.attribute.FileTime;
+
+/// <summary>
+/// Snapshot of an audio prompt file held in memory, with the metadata needed to validate client caches
+/// </summary>
+public class AudioPrompt {
+    private final ByteBuffer content;
+    private final FileTime lastModified;
+    private final long length;
+    private final String etag;
+
+    AudioPrompt(ByteBuffer content, FileTime lastModified, long length, String etag) {
+        this.content = content;
+        this.lastModified = lastModified;
+        this.length = length;
+        this.etag = etag;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public long getLastModifiedMillis() {
+        return lastModified.toMillis();
+    }
+
+    FileTime getLastModified() {
+        return lastModified;
+    }
+
+    /// Strong entity tag derived from the file content
+    public String getETag() {
+        return etag;
+    }
+
+    /// <summary>
+    /// Read-only view of the bytes [start, end) of the prompt
+    /// </summary>
+    public ByteBuffer slice(long start, long end) {
+        ByteBuffer view = content.asReadOnlyBuffer();
+        view.position((int) start);
+        view.limit((int) end);
+        return view.slice();
+    }
+}
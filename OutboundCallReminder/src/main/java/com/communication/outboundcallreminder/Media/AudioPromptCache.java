@@ -0,0 +1,123 @@
+package com.communication.outboundcallreminder.Media;
+
+import com.communication.outboundcallreminder.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/// <summary>
+/// Audio prompts served to the media service. Prompts are read once into a private buffer and reloaded
+/// only when the file changes on disk, which is checked with a cheap stat on every lookup.
+/// The buffer is a copy rather than a mapping of the file: a mapped file that is rewritten in place
+/// faults the threads reading it. Replace a prompt by renaming a new file over it, so a reload never
+/// reads a half-written file.
+/// </summary>
+public class AudioPromptCache {
+    private static final String AUDIO_DIRECTORY = "src/main/java/com/communication/outboundcallreminder/audio/";
+
+    private final Path audioDirectory;
+    private final ConcurrentHashMap<String, AudioPrompt> prompts = new ConcurrentHashMap<>();
+
+    private AudioPromptCache() {
+        this(Paths.get(AUDIO_DIRECTORY));
+    }
+
+    AudioPromptCache(Path audioDirectory) {
+        this.audioDirectory = audioDirectory.toAbsolutePath().normalize();
+        preload();
+    }
+
+    private static class InstanceHolder {
+        private static final AudioPromptCache instance = new AudioPromptCache();
+    }
+
+    public static AudioPromptCache getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    /// <summary>
+    /// Load every .wav file of the audio directory
+    /// </summary>
+    public void preload() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(audioDirectory, "*.wav")) {
+            for (Path file : files) {
+                get(file.getFileName().toString());
+            }
+        } catch (IOException ex) {
+            Logger.logMessage(Logger.MessageType.ERROR, "Failed to preload audio prompts -- > " + ex.getMessage());
+        }
+    }
+
+    /// <summary>
+    /// Get an audio prompt, reloading it if the file changed since it was loaded
+    /// </summary>
+    /// <returns>The prompt, or null when there is no such file in the audio directory.</returns>
+    public AudioPrompt get(String fileName) {
+        Path path = audioDirectory.resolve(fileName).normalize();
+        if (!path.getParent().equals(audioDirectory)) {
+            return null;
+        }
+
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            AudioPrompt prompt = prompts.get(fileName);
+            if (prompt != null && prompt.getLastModified().equals(attributes.lastModifiedTime())
+                    && prompt.getLength() == attributes.size()) {
+                return prompt;
+            }
+
+            AudioPrompt loaded = load(path, attributes);
+            prompts.put(fileName, loaded);
+            Logger.logMessage(Logger.MessageType.INFORMATION, "Loaded audio prompt " + fileName + ", ETag -- > " + loaded.getETag());
+            return loaded;
+        } catch (IOException ex) {
+            prompts.remove(fileName);
+            return null;
+        }
+    }
+
+    private static AudioPrompt load(Path path, BasicFileAttributes attributes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Audio prompt too large -- > " + path);
+            }
+
+            ByteBuffer content = ByteBuffer.allocateDirect((int) size);
+            while (content.hasRemaining()) {
+                if (channel.read(content) < 0) {
+                    // Truncated while reading; the new size makes the next lookup reload it
+                    break;
+                }
+            }
+            content.flip();
+            return new AudioPrompt(content.asReadOnlyBuffer(), attributes.lastModifiedTime(), content.limit(), computeETag(content));
+        }
+    }
+
+    private static String computeETag(ByteBuffer content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(content.duplicate());
+            byte[] hash = digest.digest();
+
+            StringBuilder etag = new StringBuilder("\"");
+            for (int i = 0; i < 16; i++) {
+                etag.append(String.format("%02x", hash[i]));
+            }
+            return etag.append('"').toString();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.communication.outboundcallreminder.Metrics;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/// <summary>
+/// Latency histograms for each phase of the call flow. Values are recorded in microseconds
+/// without locking; a snapshot folds the values recorded since the previous one into the totals.
+/// </summary>
+public class CallMetrics {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<LatencyPhase, PhaseHistogram> histograms = new EnumMap<>(LatencyPhase.class);
+
+    private CallMetrics() {
+        for (LatencyPhase phase : LatencyPhase.values()) {
+            histograms.put(phase, new PhaseHistogram());
+        }
+    }
+
+    private static class InstanceHolder {
+        private static final CallMetrics instance = new CallMetrics();
+    }
+
+    public static CallMetrics getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    /// <summary>
+    /// Record the time elapsed since a System.nanoTime() timestamp
+    /// </summary>
+    public void recordSince(LatencyPhase phase, long startNanos) {
+        if (startNanos == 0) {
+            return;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        histograms.get(phase).recorder.recordValue(Math.max(0, Math.min(micros, HIGHEST_TRACKABLE_MICROS)));
+    }
+
+    /// <summary>
+    /// Count and percentiles in milliseconds of every phase since the application started
+    /// </summary>
+    public Map<String, Object> getSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        for (Map.Entry<LatencyPhase, PhaseHistogram> entry : histograms.entrySet()) {
+            snapshot.put(entry.getKey().name(), entry.getValue().summarize());
+        }
+        return snapshot;
+    }
+
+    public void reset() {
+        for (PhaseHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    private static class PhaseHistogram {
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private Histogram interval;
+
+        synchronized Map<String, Object> summarize() {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", total.getTotalCount());
+            if (total.getTotalCount() > 0) {
+                summary.put("minMillis", toMillis(total.getMinValue()));
+                summary.put("meanMillis", toMillis(total.getMean()));
+                summary.put("p50Millis", toMillis(total.getValueAtPercentile(50)));
+                summary.put("p90Millis", toMillis(total.getValueAtPercentile(90)));
+                summary.put("p99Millis", toMillis(total.getValueAtPercentile(99)));
+                summary.put("p999Millis", toMillis(total.getValueAtPercentile(99.9)));
+                summary.put("maxMillis", toMillis(total.getMaxValue()));
+            }
+            return summary;
+        }
+
+        synchronized void reset() {
+            interval = recorder.getIntervalHistogram(interval);
+            total.reset();
+        }
+
+        private static double toMillis(double micros) {
+            return Math.round(micros) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.communication.outboundcallreminder.Metrics;
+
+/// <summary>
+/// Measured phases of the reminder call flow
+/// </summary>
+public enum LatencyPhase {
+    /// createCall request to the CONNECTED state change
+    CALL_CONNECT,
+    /// Play audio started to the tone received from the callee
+    PLAY_TO_TONE,
+    /// Tone received to the add participant result
+    TONE_TO_TRANSFER,
+    /// Hangup request to the DISCONNECTED state change
+    HANGUP_TO_DISCONNECT,
+    /// Notification received to its callback starting on a dispatcher thread
+    EVENT_DISPATCH_LAG
+}
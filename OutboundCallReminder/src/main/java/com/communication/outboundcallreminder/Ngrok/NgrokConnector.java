@@ -5,12 +5,12 @@ import net.minidev.json.JSONObject;
 import net.minidev.json.parser.JSONParser;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHeaders;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.util.EntityUtils;
 import org.apache.http.impl.client.HttpClients;
-import com.communication.outboundcallreminder.Logger;
 
 public class NgrokConnector {
 
@@ -22,14 +22,19 @@ public class NgrokConnector {
         httpClient = HttpClients.createDefault();
         String ngrokTunnelUrl = "http://127.0.0.1:4040/api/tunnels";
         request = new HttpGet(ngrokTunnelUrl);
+        // The tunnel API is polled while ngrok starts, so a lookup must fail fast
+        request.setConfig(RequestConfig.custom().setConnectTimeout(500).setSocketTimeout(1000).build());
         // add request headers
         request.addHeader(HttpHeaders.CONTENT_TYPE, "application/json");
     }
 
+    /// <summary>
+    /// Get the tunnels of the local ngrok agent
+    /// </summary>
+    /// <returns>The tunnels, or null if the agent is not answering yet.</returns>
     public JSONArray getAllTunnelsAsync() {
         JSONArray tunnelList = null;
-        try {
-            CloseableHttpResponse response = httpClient.execute(request);
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
             HttpEntity entity = response.getEntity();
 
             if (entity != null) {
@@ -38,7 +43,7 @@ public class NgrokConnector {
                 tunnelList = (JSONArray) tunnelObject.get("tunnels");
             }
         } catch (Exception ex) {
-            Logger.logMessage(Logger.MessageType.ERROR, "Failed to get Ngrok URL -- > " + ex.getMessage());
+            // The agent is not listening yet; the caller decides how long to keep trying
         }
         return tunnelList;
     }
@@ -1,54 +1,74 @@
 package com.communication.outboundcallreminder.Ngrok;
 
 import net.minidev.json.JSONArray;
+import com.communication.outboundcallreminder.Ingress.IngressProvider;
+import com.communication.outboundcallreminder.Ingress.ReadinessProbe;
 import com.communication.outboundcallreminder.Logger;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
-public class NgrokService {
+public class NgrokService implements IngressProvider {
+    private static final boolean IS_WINDOWS = System.getProperty("os.name", "").toLowerCase().startsWith("windows");
+
     /// The NGROK process
     private Process ngrokProcess;
     // NgrokConnector connector;
     private final NgrokConnector connector;
+    private final String ngrokPath;
+    private final String authToken;
+    private final ReadinessProbe readinessProbe;
 
-    public NgrokService(String ngrokPath, String authToken) {
+    public NgrokService(String ngrokPath, String authToken, ReadinessProbe readinessProbe) {
         connector = new NgrokConnector();
-        this.ensureNgrokNotRunning();
-        this.createNgrokProcess(ngrokPath, authToken);
+        this.ngrokPath = ngrokPath;
+        this.authToken = authToken;
+        this.readinessProbe = readinessProbe;
     }
 
     /// <summary>
-    /// Ensures that NGROK is not running.
+    /// Start NGROK and wait for its public URL
     /// </summary>
-    private void ensureNgrokNotRunning() {
-        BufferedReader input;
-        String ngrokProcess = "ngrok.exe";
-        String processFilter = "/nh /fi \"Imagename eq " + ngrokProcess + "\"";
-        String tasksCmd = System.getenv("windir") + "/system32/tasklist.exe " + processFilter;
-        try {
-            Process process = Runtime.getRuntime().exec(tasksCmd);
-            input = new BufferedReader(new InputStreamReader(process.getInputStream()));
+    @Override
+    public String start(int localPort, long timeoutMillis) {
+        if (ngrokPath.isEmpty()) {
+            Logger.logMessage(Logger.MessageType.INFORMATION, "Ngrok path not provided");
+            return null;
+        }
+        if (!this.ensureNgrokNotRunning()) {
+            return null;
+        }
 
-            String line;
-            while ((line = input.readLine()) != null) {
-                // It means ngrok.exe running
-                if (line.contains(ngrokProcess)) {
-                    Logger.logMessage(Logger.MessageType.INFORMATION, "Looks like NGROK is still running. Please kill it before running the provider again.");
-                    System.exit(0);
-                }
-            }
-            process.destroy();
-            input.close();
-        } catch (Exception ex) {
-            Logger.logMessage(Logger.MessageType.ERROR ,"Not able to find the process -- > " + ex.getMessage());
+        Logger.logMessage(Logger.MessageType.INFORMATION, "Starting Ngrok");
+        if (!this.createNgrokProcess(localPort)) {
+            return null;
         }
+
+        Logger.logMessage(Logger.MessageType.INFORMATION, "Fetching Ngrok Url");
+        String ngrokUrl = this.getNgrokUrl(timeoutMillis);
+        if (ngrokUrl == null) {
+            Logger.logMessage(Logger.MessageType.ERROR, "No Ngrok tunnel after " + timeoutMillis + " ms");
+        }
+        return ngrokUrl;
+    }
+
+    /// <summary>
+    /// Ensures that NGROK is not running. An agent already answering on its local API would keep the
+    /// tunnel of another run, so it is detected through that API instead of the platform's process list.
+    /// </summary>
+    private boolean ensureNgrokNotRunning() {
+        if (this.connector.getAllTunnelsAsync() != null) {
+            Logger.logMessage(Logger.MessageType.INFORMATION, "Looks like NGROK is still running. Please kill it before running the provider again.");
+            return false;
+        }
+        return true;
     }
 
     /// <summary>
     /// Kill ngrok.exe process
     /// </summary>
+    @Override
     public void dispose() {
         if (this.ngrokProcess != null) {
             this.ngrokProcess.destroy();
@@ -58,50 +78,62 @@ public class NgrokService {
     /// <summary>
     /// Creates the NGROK process.
     /// </summary>
-    private void createNgrokProcess(String ngrokPath, String authToken) {
+    private boolean createNgrokProcess(int localPort) {
         try {
-            String authTokenArgs = "";
-            if (authToken != null && !authToken.isEmpty()) {
-                authTokenArgs = " --authtoken " + authToken;
-            }
-
-            String openCmd = "cmd /c start cmd.exe /k ";
-            String fileName = ngrokPath + "ngrok.exe";
-            String arguments = " http http://localhost:9007/ -host-header=/localhost:9007/" + authTokenArgs;
-            String command = openCmd + fileName + arguments;
+            String localUrl = "http://localhost:" + localPort + "/";
+            if (IS_WINDOWS) {
+                String authTokenArgs = "";
+                if (authToken != null && !authToken.isEmpty()) {
+                    authTokenArgs = " --authtoken " + authToken;
+                }
 
-            this.ngrokProcess = Runtime.getRuntime().exec(command);
+                String openCmd = "cmd /c start cmd.exe /k ";
+                String fileName = ngrokPath + "ngrok.exe";
+                String arguments = " http " + localUrl + " -host-header=/localhost:" + localPort + "/" + authTokenArgs;
+                this.ngrokProcess = Runtime.getRuntime().exec(openCmd + fileName + arguments);
+            } else {
+                String fileName = ngrokPath.endsWith("/") ? ngrokPath + "ngrok" : ngrokPath + "/ngrok";
+                List<String> command = new ArrayList<>(List.of(fileName, "http", localUrl, "-host-header=localhost:" + localPort, "-log=stdout"));
+                if (authToken != null && !authToken.isEmpty()) {
+                    command.add("--authtoken");
+                    command.add(authToken);
+                }
+                this.ngrokProcess = new ProcessBuilder(command)
+                        .redirectErrorStream(true)
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .start();
+            }
+            return true;
         } catch (Exception ex) {
             Logger.logMessage(Logger.MessageType.ERROR,"Failed to start Ngrok.exe -- > " + ex.getMessage());
+            return false;
         }
     }
 
     /// <summary>
-    /// Get Ngrok URL
+    /// Get Ngrok URL, polling the tunnel API until the tunnel is up
     /// </summary>
-    public String getNgrokUrl() {
-        String ngrokUrl = null;
-        int totalAttempts = 3;
+    private String getNgrokUrl(long timeoutMillis) {
         try {
-            do {
-                // Wait for fetching the ngrok url as ngrok process might not be started yet.
-                Thread.sleep(2000);
-                JSONArray tunnelList = this.connector.getAllTunnelsAsync();
+            return readinessProbe.await(this::findPublicUrl, timeoutMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            Logger.logMessage(Logger.MessageType.ERROR, "Failed to get Ngrok url -- > " + ex.getMessage());
+            return null;
+        }
+    }
 
-                if (tunnelList.iterator().hasNext()) {
-                    Map<?, ?> tunnel = (Map<?, ?>) tunnelList.iterator().next();
+    private String findPublicUrl() {
+        JSONArray tunnelList = this.connector.getAllTunnelsAsync();
+        if (tunnelList != null && tunnelList.iterator().hasNext()) {
+            Map<?, ?> tunnel = (Map<?, ?>) tunnelList.iterator().next();
 
-                    for (Map.Entry<?, ?> entry : tunnel.entrySet()) {
-                        if ((entry.getKey()).equals("public_url")) {
-                            ngrokUrl = (String) entry.getValue();
-                            return ngrokUrl;
-                        }
-                    }
+            for (Map.Entry<?, ?> entry : tunnel.entrySet()) {
+                if ((entry.getKey()).equals("public_url")) {
+                    return (String) entry.getValue();
                 }
-            } while (--totalAttempts > 0);
-        } catch (Exception ex) {
-            Logger.logMessage(Logger.MessageType.ERROR, "Failed to get Ngrok url -- > " + ex.getMessage());
+            }
         }
-        return ngrokUrl;
+        return null;
     }
-}
\ No newline at end of file
+}
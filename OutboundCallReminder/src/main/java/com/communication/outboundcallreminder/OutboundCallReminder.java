@@ -2,7 +2,6 @@ package com.communication.outboundcallreminder;
 
 import com.azure.communication.callingserver.CallConnection;
 import com.azure.communication.callingserver.CallingServerClient;
-import com.azure.communication.callingserver.CallingServerClientBuilder;
 import com.azure.communication.callingserver.models.AddParticipantResult;
 import com.azure.communication.callingserver.models.CallConnectionState;
 import com.azure.communication.callingserver.models.CancelAllMediaOperationsResult;
@@ -22,20 +21,29 @@ import com.azure.communication.callingserver.models.events.ToneReceivedEvent;
 import com.azure.communication.common.CommunicationIdentifier;
 import com.azure.communication.common.CommunicationUserIdentifier;
 import com.azure.communication.common.PhoneNumberIdentifier;
-import com.azure.core.http.netty.NettyAsyncHttpClientBuilder;
 
 import com.azure.cosmos.implementation.changefeed.CancellationToken;
 import com.azure.cosmos.implementation.changefeed.CancellationTokenSource;
+import com.communication.outboundcallreminder.Cluster.ClusterMembership;
 import com.communication.outboundcallreminder.EventHandler.EventDispatcher;
 import com.communication.outboundcallreminder.EventHandler.NotificationCallback;
+import com.communication.outboundcallreminder.Journal.CallStateJournal;
+import com.communication.outboundcallreminder.Metrics.CallMetrics;
+import com.communication.outboundcallreminder.Metrics.LatencyPhase;
+import com.communication.outboundcallreminder.Outcomes.CallOutcome;
+import com.communication.outboundcallreminder.Outcomes.CallOutcomeSink;
+import com.communication.outboundcallreminder.Scheduling.RetryScheduler;
+import com.communication.outboundcallreminder.Scheduling.TimeoutScheduler;
 import com.azure.core.http.HttpHeader;
 import com.azure.core.http.rest.Response;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
@@ -52,55 +60,137 @@ public class OutboundCallReminder {
     private CompletableFuture<Boolean> callTerminatedTask;
     private CompletableFuture<Boolean> toneReceivedCompleteTask;
     private CompletableFuture<Boolean> addParticipantCompleteTask;
-
-    public OutboundCallReminder(CallConfiguration callConfiguration) {
+    private volatile CallState callState;
+    private String journalKey;
+    /// System.nanoTime() at the start of the phase being measured
+    private volatile long createCallStartNanos;
+    private volatile long playAudioStartNanos;
+    private volatile long toneReceivedNanos;
+    private volatile long hangupStartNanos;
+    private final CallOutcome outcome = new CallOutcome();
+
+    public OutboundCallReminder(CallConfiguration callConfiguration, CallingServerClient callingServerClient) {
         this.callConfiguration = callConfiguration;
+        this.callingServerClient = callingServerClient;
+    }
 
-        NettyAsyncHttpClientBuilder httpClientBuilder = new NettyAsyncHttpClientBuilder();
-        CallingServerClientBuilder callClientBuilder = new CallingServerClientBuilder().httpClient(httpClientBuilder.build())
-                .connectionString(this.callConfiguration.connectionString);
-
-        this.callingServerClient = callClientBuilder.buildClient();
+    public CallState getCallState() {
+        return callState;
     }
 
-    public void report(String targetPhoneNumber, String participant) {
+    /// <summary>
+    /// Start the reminder call flow. Each step is triggered by the event that completes the previous one,
+    /// so no thread waits while the call is in progress.
+    /// </summary>
+    /// <returns>Future completed with DISCONNECTED once the call has terminated, or FAILED if it could not be
+    /// created, never connected or did not terminate in time.</returns>
+    public CompletableFuture<CallState> reportAsync(String targetPhoneNumber, String participant) {
+        journalKey = CallStateJournal.keyOf(targetPhoneNumber, participant);
+        long reportStartNanos = System.nanoTime();
+        outcome.startedAtMillis = System.currentTimeMillis();
+        outcome.targetPhoneNumber = targetPhoneNumber;
         reportCancellationTokenSource = new CancellationTokenSource();
         reportCancellationToken = reportCancellationTokenSource.getToken();
+        Executor executor = CallFlowExecutor.getInstance();
 
-        try {
-            createCallAsync(targetPhoneNumber);
-            registerToDtmfResultEvent(callConnection.getCallConnectionId());
-
-            playAudioAsync();
-            Boolean playAudioCompleted = playAudioCompletedTask.get();
-
-            if (!playAudioCompleted) {
-                hangupAsync();
-            } else {
-                Boolean toneReceivedComplete = toneReceivedCompleteTask.get();
-                if (toneReceivedComplete) {
-                    Logger.logMessage(Logger.MessageType.INFORMATION,"Initiating add participant from number --> " + targetPhoneNumber + " and participant identifier is -- > " + participant);
+        return CompletableFuture.supplyAsync(() -> createCallAsync(targetPhoneNumber), executor)
+                .thenCompose(callConnected -> callConnected)
+                .thenComposeAsync(callConnected -> {
+                    if (!callConnected) {
+                        return CompletableFuture.completedFuture(false);
+                    }
 
-                    Boolean addParticipantCompleted = addParticipant(participant);
-                    if (!addParticipantCompleted) {
-                        retryAddParticipantAsync(participant);
+                    registerToDtmfResultEvent(callConnection.getCallConnectionId());
+                    return playAudioAsync()
+                            .thenCompose(playAudioCompleted -> playAudioCompleted ? awaitToneReceived()
+                                    : CompletableFuture.completedFuture(false))
+                            .thenComposeAsync(toneReceivedComplete -> {
+                                if (!toneReceivedComplete) {
+                                    return CompletableFuture.completedFuture(false);
+                                }
+
+                                Logger.logMessage(Logger.MessageType.INFORMATION, "Initiating add participant from number --> " + targetPhoneNumber + " and participant identifier is -- > " + participant);
+                                transitionTo(CallState.ADDING_PARTICIPANT);
+                                return retryAddParticipantAsync(participant);
+                            }, executor)
+                            .thenComposeAsync(addParticipantCompleted -> {
+                                hangupAsync();
+                                // Wait for the call to terminate
+                                return awaitCallTerminated();
+                            }, executor);
+                }, executor)
+                .handle((callTerminated, ex) -> {
+                    if (ex != null) {
+                        Logger.logMessage(Logger.MessageType.ERROR, "Call ended unexpectedly, reason -- > " + ex.getMessage());
                     }
+                    transitionTo((ex == null && callTerminated) ? CallState.DISCONNECTED : CallState.FAILED);
+                    outcome.finalState = (byte) callState.ordinal();
+                    outcome.totalMillis = elapsedMillis(reportStartNanos);
+                    CallOutcomeSink.getInstance().record(outcome);
+                    return callState;
+                });
+    }
 
-                    hangupAsync();
-                } else {
-                    hangupAsync();
-                }
+    /// <summary>
+    /// Wait for the call to connect; a call that is not answered in time is hung up
+    /// </summary>
+    private CompletableFuture<Boolean> awaitCallConnected() {
+        int timeoutSeconds = callConfiguration.callConnectTimeoutSeconds;
+        return TimeoutScheduler.getInstance().withTimeout(callConnectedTask, timeoutSeconds, TimeUnit.SECONDS, () -> {
+            if (callConnectedTask.complete(false)) {
+                Logger.logMessage(Logger.MessageType.INFORMATION, "Call not connected in " + timeoutSeconds + " sec, initiating hangup");
+                EventDispatcher.getInstance().unsubscribe(CallingServerEventType.CALL_CONNECTION_STATE_CHANGED_EVENT.toString(), callConnection.getCallConnectionId());
+                CallFlowExecutor.getInstance().execute(this::hangupUnconnectedCall);
             }
+        });
+    }
 
-            // Wait for the call to terminate
-            callTerminatedTask.get();
+    private void hangupUnconnectedCall() {
+        try {
+            Response<Void> response = this.callConnection.hangupWithResponse(null);
+            Logger.logMessage(Logger.MessageType.INFORMATION, () -> "hangupWithResponse -- > " + getResponse(response));
         } catch (Exception ex) {
-            Logger.logMessage(Logger.MessageType.ERROR, "Call ended unexpectedly, reason -- > " + ex.getMessage());
+            Logger.logMessage(Logger.MessageType.ERROR, "Failure occured while hanging up the unconnected call. Exception -- >" + ex.getMessage());
         }
     }
 
-    private void createCallAsync(String targetPhoneNumber) {
+    /// <summary>
+    /// Wait for the DISCONNECTED event after hangup; completes with false if it does not arrive in time
+    /// </summary>
+    private CompletableFuture<Boolean> awaitCallTerminated() {
+        int timeoutSeconds = callConfiguration.callDisconnectTimeoutSeconds;
+        return TimeoutScheduler.getInstance().withTimeout(callTerminatedTask, timeoutSeconds, TimeUnit.SECONDS, () -> {
+            if (callTerminatedTask.complete(false)) {
+                Logger.logMessage(Logger.MessageType.ERROR, "Call not disconnected in " + timeoutSeconds + " sec after hangup");
+                EventDispatcher.getInstance().unsubscribe(CallingServerEventType.CALL_CONNECTION_STATE_CHANGED_EVENT.toString(), callConnection.getCallConnectionId());
+                EventDispatcher.getInstance().unsubscribe(CallingServerEventType.TONE_RECEIVED_EVENT.toString(), callConnection.getCallConnectionId());
+            }
+        });
+    }
+
+    private CompletableFuture<Boolean> awaitToneReceived() {
+        int timeoutSeconds = callConfiguration.toneReceivedTimeoutSeconds;
+        return TimeoutScheduler.getInstance().withTimeout(toneReceivedCompleteTask, timeoutSeconds, TimeUnit.SECONDS, () -> {
+            if (toneReceivedCompleteTask.complete(false)) {
+                Logger.logMessage(Logger.MessageType.INFORMATION, "No tone received in " + timeoutSeconds + " sec, initiating hangup");
+                EventDispatcher.getInstance().unsubscribe(CallingServerEventType.TONE_RECEIVED_EVENT.toString(), callConnection.getCallConnectionId());
+            }
+        });
+    }
+
+    private void transitionTo(CallState newState) {
+        callState = newState;
+        CallConnection connection = callConnection;
+        CallStateJournal.getInstance().append(journalKey, newState,
+                (connection != null) ? connection.getCallConnectionId() : null);
+        Logger.logMessage(Logger.MessageType.INFORMATION, "Call flow state -- > " + newState);
+    }
+
+    private CompletableFuture<Boolean> createCallAsync(String targetPhoneNumber) {
         try {
+            transitionTo(CallState.CREATING);
+            createCallStartNanos = System.nanoTime();
+
             // Preparing request data
             CommunicationUserIdentifier source = new CommunicationUserIdentifier(this.callConfiguration.sourceIdentity);
             PhoneNumberIdentifier target = new PhoneNumberIdentifier(targetPhoneNumber);
@@ -118,8 +208,10 @@ public class OutboundCallReminder {
                 }
             };
 
-            CreateCallOptions createCallOption = new CreateCallOptions(this.callConfiguration.appCallbackUrl,
-                    callModality, eventSubscriptionType);
+            // The call key lets any node of a cluster route the call's events to this node
+            String callbackUrl = this.callConfiguration.appCallbackUrl + "&" + ClusterMembership.CALL_KEY_PARAMETER + "="
+                    + URLEncoder.encode(journalKey, StandardCharsets.UTF_8);
+            CreateCallOptions createCallOption = new CreateCallOptions(callbackUrl, callModality, eventSubscriptionType);
 
             createCallOption.setAlternateCallerId(new PhoneNumberIdentifier(this.callConfiguration.sourcePhoneNumber));
 
@@ -134,14 +226,15 @@ public class OutboundCallReminder {
             Response<CallConnection> response = this.callingServerClient.createCallConnectionWithResponse(source, targets, createCallOption, null);
             callConnection = response.getValue(); 
 
-            Logger.logMessage(Logger.MessageType.INFORMATION, "createCallConnectionWithResponse -- > " + getResponse(response) + ", Call connection ID: " + callConnection.getCallConnectionId());
+            Logger.logMessage(Logger.MessageType.INFORMATION, () -> "createCallConnectionWithResponse -- > " + getResponse(response) + ", Call connection ID: " + callConnection.getCallConnectionId());
             Logger.logMessage(Logger.MessageType.INFORMATION, "Call initiated with Call Leg id -- >" + callConnection.getCallConnectionId());
 
             registerToCallStateChangeEvent(callConnection.getCallConnectionId());
-            callConnectedTask.get();
-
+            transitionTo(CallState.CONNECTING);
+            return awaitCallConnected();
         } catch (Exception ex) {
             Logger.logMessage(Logger.MessageType.ERROR, "Failure occured while creating/establishing the call. Exception -- >" + ex.getMessage());
+            return CompletableFuture.completedFuture(false);
         }
     }
 
@@ -156,18 +249,24 @@ public class OutboundCallReminder {
 
             if (callStateChanged.getCallConnectionState().equals(CallConnectionState.CONNECTED)) {
                 Logger.logMessage(Logger.MessageType.INFORMATION, "Call State successfully connected");
+                CallMetrics.getInstance().recordSince(LatencyPhase.CALL_CONNECT, createCallStartNanos);
+                outcome.connected = true;
+                outcome.connectMillis = elapsedMillis(createCallStartNanos);
                 callConnectedTask.complete(true);
             } else if (callStateChanged.getCallConnectionState().equals(CallConnectionState.DISCONNECTED)) {
                 EventDispatcher.getInstance()
                         .unsubscribe(CallingServerEventType.CALL_CONNECTION_STATE_CHANGED_EVENT.toString(), callLegId);
+                EventDispatcher.getInstance().unsubscribe(CallingServerEventType.TONE_RECEIVED_EVENT.toString(), callLegId);
                 reportCancellationTokenSource.cancel();
+                CallMetrics.getInstance().recordSince(LatencyPhase.HANGUP_TO_DISCONNECT, hangupStartNanos);
+                callConnectedTask.complete(false);
                 callTerminatedTask.complete(true);
             }
         });
 
         // Subscribe to the event
         EventDispatcher.getInstance().subscribe(CallingServerEventType.CALL_CONNECTION_STATE_CHANGED_EVENT.toString(),
-                callLegId, callStateChangeNotificaiton);
+                callLegId, callLegId, callStateChangeNotificaiton, callTerminatedTask);
     }
 
     private void registerToDtmfResultEvent(String callLegId) {
@@ -178,6 +277,10 @@ public class OutboundCallReminder {
             ToneInfo toneInfo = toneReceivedEvent.getToneInfo();
 
             Logger.logMessage(Logger.MessageType.INFORMATION, "Tone received -- > : " + toneInfo.getTone());
+            toneReceivedNanos = System.nanoTime();
+            CallMetrics.getInstance().recordSince(LatencyPhase.PLAY_TO_TONE, playAudioStartNanos);
+            outcome.tone = CallOutcome.toneCode(toneInfo.getTone().toString());
+            outcome.playToToneMillis = elapsedMillis(playAudioStartNanos);
 
             if (toneInfo.getTone().equals(ToneValue.TONE1)) {
                 toneReceivedCompleteTask.complete(true);
@@ -186,11 +289,11 @@ public class OutboundCallReminder {
             }
             EventDispatcher.getInstance().unsubscribe(CallingServerEventType.TONE_RECEIVED_EVENT.toString(), callLegId);
             // cancel playing audio
-            cancelMediaProcessing();
+            CallFlowExecutor.getInstance().execute(this::cancelMediaProcessing);
         });
         // Subscribe to event
         EventDispatcher.getInstance().subscribe(CallingServerEventType.TONE_RECEIVED_EVENT.toString(), callLegId,
-                dtmfReceivedEvent);
+                callLegId, dtmfReceivedEvent, toneReceivedCompleteTask);
     }
 
     private void cancelMediaProcessing() {
@@ -205,18 +308,20 @@ public class OutboundCallReminder {
         Response<CancelAllMediaOperationsResult> cancelmediaresponse = this.callConnection.cancelAllMediaOperationsWithResponse(operationContext, null);
         CancelAllMediaOperationsResult response = cancelmediaresponse.getValue();
 
-        Logger.logMessage(Logger.MessageType.INFORMATION, "cancelAllMediaOperationsWithResponse -- > " + getResponse(cancelmediaresponse) + 
+        Logger.logMessage(Logger.MessageType.INFORMATION, () -> "cancelAllMediaOperationsWithResponse -- > " + getResponse(cancelmediaresponse) + 
         ", Id: " + response.getOperationId() + ", OperationContext: " + response.getOperationContext() + ", OperationStatus: " +
         response.getStatus().toString());
     }
 
-    private void playAudioAsync() {
+    private CompletableFuture<Boolean> playAudioAsync() {
         if (reportCancellationToken.isCancellationRequested()) {
             Logger.logMessage(Logger.MessageType.INFORMATION, "Cancellation request, PlayAudio will not be performed");
-            return;
+            return CompletableFuture.completedFuture(false);
         }
 
         try {
+            transitionTo(CallState.PLAYING_AUDIO);
+
             // Preparing data for request
             String audioFileUri = callConfiguration.audioFileUrl;
             Boolean loop = true;
@@ -227,44 +332,42 @@ public class OutboundCallReminder {
             playAudioOptions.setAudioFileId(audioFileId);
             playAudioOptions.setOperationContext(operationContext);
 
+            // listen to play audio events before starting, so a fast result event is not missed
+            registerToPlayAudioResultEvent(operationContext);
+
             Logger.logMessage(Logger.MessageType.INFORMATION, "Performing PlayAudio operation");
+            playAudioStartNanos = System.nanoTime();
             Response<PlayAudioResult> playAudioResponse = this.callConnection.playAudioWithResponse(audioFileUri, playAudioOptions, null);
             
             PlayAudioResult response = playAudioResponse.getValue();
 
-            Logger.logMessage(Logger.MessageType.INFORMATION, "playAudioWithResponse -- > " + getResponse(playAudioResponse) + 
+            Logger.logMessage(Logger.MessageType.INFORMATION, () -> "playAudioWithResponse -- > " + getResponse(playAudioResponse) + 
             ", Id: " + response.getOperationId() + ", OperationContext: " + response.getOperationContext() + ", OperationStatus: " +
             response.getStatus().toString());
 
             if (response.getStatus().equals(OperationStatus.RUNNING)) {
                 Logger.logMessage(Logger.MessageType.INFORMATION, "Play Audio state -- > " + OperationStatus.RUNNING);
 
-                // listen to play audio events
-                registerToPlayAudioResultEvent(response.getOperationContext());
-
-                CompletableFuture<Boolean> maxWait = CompletableFuture.supplyAsync(() -> {
-                    try {
-                        TimeUnit.SECONDS.sleep(30);
-                    } catch (InterruptedException ex) {
-                        Logger.logMessage(Logger.MessageType.ERROR, " -- > " + ex.getMessage());
+                int timeoutSeconds = callConfiguration.playAudioTimeoutSeconds;
+                return TimeoutScheduler.getInstance().withTimeout(playAudioCompletedTask, timeoutSeconds, TimeUnit.SECONDS, () -> {
+                    if (playAudioCompletedTask.complete(false)) {
+                        Logger.logMessage(Logger.MessageType.INFORMATION, "No response from user in " + timeoutSeconds + " sec, initiating hangup");
+                        EventDispatcher.getInstance().unsubscribe(CallingServerEventType.PLAY_AUDIO_RESULT_EVENT.toString(), operationContext);
+                        EventDispatcher.getInstance().unsubscribe(CallingServerEventType.TONE_RECEIVED_EVENT.toString(), callConnection.getCallConnectionId());
+                        toneReceivedCompleteTask.complete(false);
                     }
-                    return false;
                 });
-
-                CompletableFuture<Object> completedTask = CompletableFuture.anyOf(playAudioCompletedTask, maxWait);
-                if (completedTask.get() != playAudioCompletedTask.get()) {
-                    Logger.logMessage(Logger.MessageType.INFORMATION, "No response from user in 30 sec, initiating hangup");
-                    playAudioCompletedTask.complete(false);
-                    toneReceivedCompleteTask.complete(false);
-                }
             }
+
+            EventDispatcher.getInstance().unsubscribe(CallingServerEventType.PLAY_AUDIO_RESULT_EVENT.toString(), operationContext);
         } catch (Exception ex) {
-            if (playAudioCompletedTask.isCancelled()) {
+            if (playAudioCompletedTask != null && playAudioCompletedTask.isCancelled()) {
                 Logger.logMessage(Logger.MessageType.INFORMATION, "Play audio operation cancelled");
             } else {
                 Logger.logMessage(Logger.MessageType.INFORMATION, "Failure occured while playing audio on the call. Exception: " + ex.getMessage());
             }
         }
+        return CompletableFuture.completedFuture(false);
     }
 
     private void hangupAsync() {
@@ -273,9 +376,11 @@ public class OutboundCallReminder {
             return;
         }
 
+        transitionTo(CallState.HANGING_UP);
         Logger.logMessage(Logger.MessageType.INFORMATION, "Performing Hangup operation");
+        hangupStartNanos = System.nanoTime();
         Response<Void> response = this.callConnection.hangupWithResponse(null);
-        Logger.logMessage(Logger.MessageType.INFORMATION, "hangupWithResponse -- > " + getResponse(response));
+        Logger.logMessage(Logger.MessageType.INFORMATION, () -> "hangupWithResponse -- > " + getResponse(response));
     }
 
     private void registerToPlayAudioResultEvent(String operationContext) {
@@ -289,84 +394,104 @@ public class OutboundCallReminder {
                         operationContext);
                 playAudioCompletedTask.complete(true);
             } else if (playAudioResultEvent.getStatus().equals(OperationStatus.FAILED)) {
+                EventDispatcher.getInstance().unsubscribe(CallingServerEventType.PLAY_AUDIO_RESULT_EVENT.toString(),
+                        operationContext);
                 playAudioCompletedTask.complete(false);
             }
         });
 
         // Subscribe to event
         EventDispatcher.getInstance().subscribe(CallingServerEventType.PLAY_AUDIO_RESULT_EVENT.toString(),
-                operationContext, playPromptResponseNotification);
+                operationContext, callConnection.getCallConnectionId(), playPromptResponseNotification, playAudioCompletedTask);
     }
 
-    private void retryAddParticipantAsync(String addedParticipant) {
-        int retryAttemptCount = 1;
-        while (retryAttemptCount <= this.callConfiguration.maxRetryAttemptCount) {
-            Logger.logMessage(Logger.MessageType.INFORMATION, "Retrying add participant attempt -- > " + retryAttemptCount + " is in progress");
-            Boolean addParticipantResult = addParticipant(addedParticipant);
-
-            if (addParticipantResult) {
-                return;
-            } else {
-                Logger.logMessage(Logger.MessageType.INFORMATION, "Retry add participant attempt -- > " + retryAttemptCount + " has failed");
-                retryAttemptCount++;
+    /// <summary>
+    /// Add the participant, retrying with backoff up to maxRetryAttemptCount times
+    /// </summary>
+    private CompletableFuture<Boolean> retryAddParticipantAsync(String addedParticipant) {
+        return RetryScheduler.getInstance().execute(addedParticipant, (retryAttemptCount) -> {
+            outcome.addParticipantAttempts = (byte) Math.min(Byte.MAX_VALUE, retryAttemptCount + 1);
+            if (retryAttemptCount > 0) {
+                Logger.logMessage(Logger.MessageType.INFORMATION, "Retrying add participant attempt -- > " + retryAttemptCount + " is in progress");
             }
-        }
+            return addParticipant(addedParticipant).thenApply(addParticipantResult -> {
+                if (!addParticipantResult && retryAttemptCount > 0) {
+                    Logger.logMessage(Logger.MessageType.INFORMATION, "Retry add participant attempt -- > " + retryAttemptCount + " has failed");
+                }
+                return addParticipantResult;
+            });
+        }, this.callConfiguration.maxRetryAttemptCount).thenApply(addParticipantCompleted -> {
+            outcome.transferResult = addParticipantCompleted ? CallOutcome.TRANSFER_SUCCEEDED : CallOutcome.TRANSFER_FAILED;
+            return addParticipantCompleted;
+        });
+    }
+
+    private static int elapsedMillis(long startNanos) {
+        return (int) Math.min(Integer.MAX_VALUE, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
     }
 
-    private Boolean addParticipant(String addedParticipant) {
+    private CompletableFuture<Boolean> addParticipant(String addedParticipant) {
         CommunicationIdentifierKind identifierKind = getIdentifierKind(addedParticipant);
 
         if (identifierKind == CommunicationIdentifierKind.UnknownIdentity) {
             Logger.logMessage(Logger.MessageType.INFORMATION, "Unknown identity provided. Enter valid phone number or communication user id");
-            return true;
-        } else {
-            CommunicationIdentifier participant = null;
-            String operationContext = UUID.randomUUID().toString();
+            return CompletableFuture.completedFuture(true);
+        }
 
-            registerToAddParticipantsResultEvent(operationContext);
+        CommunicationIdentifier participant = null;
+        String operationContext = UUID.randomUUID().toString();
 
-            if (identifierKind == CommunicationIdentifierKind.UserIdentity) {
-                participant = new CommunicationUserIdentifier(addedParticipant);
+        CompletableFuture<Void> addParticipantResultReceived = registerToAddParticipantsResultEvent(operationContext);
 
-            } else if (identifierKind == CommunicationIdentifierKind.PhoneIdentity) {
-                participant = new PhoneNumberIdentifier(addedParticipant);
-            }
+        if (identifierKind == CommunicationIdentifierKind.UserIdentity) {
+            participant = new CommunicationUserIdentifier(addedParticipant);
 
-            Response<AddParticipantResult> response = callConnection.addParticipantWithResponse(participant, this.callConfiguration.sourcePhoneNumber, operationContext, null);
-            Logger.logMessage(Logger.MessageType.INFORMATION, "addParticipantWithResponse -- > " + getResponse(response));
+        } else if (identifierKind == CommunicationIdentifierKind.PhoneIdentity) {
+            participant = new PhoneNumberIdentifier(addedParticipant);
         }
 
-        Boolean addParticipantCompleted = false;
         try {
-            addParticipantCompleted = addParticipantCompleteTask.get();
-        } catch (InterruptedException ex) {
-            Logger.logMessage(Logger.MessageType.ERROR, "Failed to add participant InterruptedException -- > " + ex.getMessage());
-        } catch (ExecutionException ex) {
-            Logger.logMessage(Logger.MessageType.ERROR,"Failed to add participant ExecutionException -- > " + ex.getMessage());
+            Response<AddParticipantResult> response = callConnection.addParticipantWithResponse(participant, this.callConfiguration.sourcePhoneNumber, operationContext, null);
+            Logger.logMessage(Logger.MessageType.INFORMATION, () -> "addParticipantWithResponse -- > " + getResponse(response));
+        } catch (Exception ex) {
+            Logger.logMessage(Logger.MessageType.ERROR, "Failed to add participant -- > " + ex.getMessage());
+            EventDispatcher.getInstance().unsubscribe(CallingServerEventType.ADD_PARTICIPANT_RESULT_EVENT.toString(), operationContext);
+            return CompletableFuture.completedFuture(false);
         }
 
-        return addParticipantCompleted;
+        int timeoutSeconds = callConfiguration.addParticipantTimeoutSeconds;
+        CompletableFuture<Boolean> addParticipantTask = addParticipantCompleteTask;
+        TimeoutScheduler.getInstance().withTimeout(addParticipantResultReceived, timeoutSeconds, TimeUnit.SECONDS, () -> {
+            if (addParticipantTask.complete(false)) {
+                Logger.logMessage(Logger.MessageType.INFORMATION, "No add participant result in " + timeoutSeconds + " sec");
+                EventDispatcher.getInstance().unsubscribe(CallingServerEventType.ADD_PARTICIPANT_RESULT_EVENT.toString(), operationContext);
+            }
+        });
+        return addParticipantTask;
     }
 
-    private void registerToAddParticipantsResultEvent(String operationContext) {
+    /// <returns>Future completed when the add participant result event arrives.</returns>
+    private CompletableFuture<Void> registerToAddParticipantsResultEvent(String operationContext) {
         addParticipantCompleteTask = new CompletableFuture<>();
+        CompletableFuture<Boolean> addParticipantTask = addParticipantCompleteTask;
+        CompletableFuture<Void> resultReceived = new CompletableFuture<>();
 
         NotificationCallback addParticipantReceivedEvent = ((callEvent) -> {
+            resultReceived.complete(null);
             AddParticipantResultEvent addParticipantsUpdatedEvent = (AddParticipantResultEvent) callEvent;
             OperationStatus operationStatus = addParticipantsUpdatedEvent.getStatus();
             if (operationStatus.equals(OperationStatus.COMPLETED)) {
+                CallMetrics.getInstance().recordSince(LatencyPhase.TONE_TO_TRANSFER, toneReceivedNanos);
+                outcome.toneToTransferMillis = elapsedMillis(toneReceivedNanos);
                 Logger.logMessage(Logger.MessageType.INFORMATION, "Add participant status -- > " + operationStatus);
-                
-                Logger.logMessage(Logger.MessageType.INFORMATION, "Sleeping for 60 seconds before proceeding further");
-                try {
-                    Thread.sleep(60 * 1000);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
 
-                addParticipantCompleteTask.complete(true);
+                // Keep the call bridged for a while before proceeding, without holding the dispatcher thread
+                int holdSeconds = callConfiguration.postTransferHoldSeconds;
+                Logger.logMessage(Logger.MessageType.INFORMATION, "Holding the call for " + holdSeconds + " seconds before proceeding further");
+                TimeoutScheduler.getInstance().delay(holdSeconds, TimeUnit.SECONDS)
+                        .thenRun(() -> addParticipantTask.complete(true));
             } else if (operationStatus.equals(OperationStatus.FAILED)) {
-                addParticipantCompleteTask.complete(false);
+                addParticipantTask.complete(false);
             }
             EventDispatcher.getInstance().unsubscribe(CallingServerEventType.ADD_PARTICIPANT_RESULT_EVENT.toString(),
                     operationContext);
@@ -374,16 +499,20 @@ public class OutboundCallReminder {
 
         // Subscribe to event
         EventDispatcher.getInstance().subscribe(CallingServerEventType.ADD_PARTICIPANT_RESULT_EVENT.toString(),
-                operationContext, addParticipantReceivedEvent);
+                operationContext, callConnection.getCallConnectionId(), addParticipantReceivedEvent, addParticipantTask);
+        return resultReceived;
     }
 
-    public final String userIdentityRegex = "8:acs:[0-9a-fA-F]{8}\\-[0-9a-fA-F]{4}\\-[0-9a-fA-F]{4}\\-[0-9a-fA-F]{4}\\-[0-9a-fA-F]{12}_[0-9a-fA-F]{8}\\-[0-9a-fA-F]{4}\\-[0-9a-fA-F]{4}\\-[0-9a-fA-F]{4}\\-[0-9a-fA-F]{12}";
-    public final String phoneIdentityRegex = "^\\+\\d{10,14}$";
+    private static final String userIdentityRegex = "8:acs:[0-9a-fA-F]{8}\\-[0-9a-fA-F]{4}\\-[0-9a-fA-F]{4}\\-[0-9a-fA-F]{4}\\-[0-9a-fA-F]{12}_[0-9a-fA-F]{8}\\-[0-9a-fA-F]{4}\\-[0-9a-fA-F]{4}\\-[0-9a-fA-F]{4}\\-[0-9a-fA-F]{12}";
+    private static final String phoneIdentityRegex = "^\\+\\d{10,14}$";
+    /// Compiled once instead of by Pattern.matches for every participant
+    private static final Pattern userIdentityPattern = Pattern.compile(userIdentityRegex);
+    private static final Pattern phoneIdentityPattern = Pattern.compile(phoneIdentityRegex);
 
-    private CommunicationIdentifierKind getIdentifierKind(String participantnumber) {
+    static CommunicationIdentifierKind getIdentifierKind(String participantnumber) {
         // checks the identity type returns as string
-        return ((Pattern.matches(userIdentityRegex, participantnumber)) ? CommunicationIdentifierKind.UserIdentity
-                : (Pattern.matches(phoneIdentityRegex, participantnumber)) ? CommunicationIdentifierKind.PhoneIdentity
+        return ((userIdentityPattern.matcher(participantnumber).matches()) ? CommunicationIdentifierKind.UserIdentity
+                : (phoneIdentityPattern.matcher(participantnumber).matches()) ? CommunicationIdentifierKind.PhoneIdentity
                         : CommunicationIdentifierKind.UnknownIdentity);
     }
 
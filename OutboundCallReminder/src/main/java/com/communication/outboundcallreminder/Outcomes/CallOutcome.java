@@ -0,0 +1,96 @@
+package com.communication.outboundcallreminder.Outcomes;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/// <summary>
+/// Outcome of one reminder call, stored as a fixed-size record so outcome files can be
+/// scanned without parsing.
+/// Layout (48 bytes, big endian): started at (long, epoch millis), target (16 bytes ASCII,
+/// zero padded), final state, connected, tone, transfer result, add participant attempts
+/// (1 byte each), 3 bytes of padding, connect, play to tone, tone to transfer and total
+/// durations (int millis each, -1 when the phase did not happen).
+/// </summary>
+public class CallOutcome {
+    public static final int RECORD_SIZE = 48;
+    public static final int TARGET_SIZE = 16;
+
+    public static final byte TRANSFER_NOT_ATTEMPTED = 0;
+    public static final byte TRANSFER_SUCCEEDED = 1;
+    public static final byte TRANSFER_FAILED = 2;
+
+    public long startedAtMillis;
+    public String targetPhoneNumber = "";
+    public byte finalState;
+    public boolean connected;
+    /// Tone pressed by the callee ('0'-'9', '*', '#', ...), or 0 when none was pressed
+    public byte tone;
+    public byte transferResult = TRANSFER_NOT_ATTEMPTED;
+    public byte addParticipantAttempts;
+    public int connectMillis = -1;
+    public int playToToneMillis = -1;
+    public int toneToTransferMillis = -1;
+    public int totalMillis = -1;
+
+    /// <summary>
+    /// Map a tone name sent by the calling service ("tone1", "star", "pound", "a", ...) to its key
+    /// </summary>
+    public static byte toneCode(String tone) {
+        if (tone == null || tone.isEmpty()) {
+            return 0;
+        }
+        if (tone.startsWith("tone") && tone.length() == 5) {
+            return (byte) tone.charAt(4);
+        }
+        if (tone.equals("star")) {
+            return '*';
+        }
+        if (tone.equals("pound")) {
+            return '#';
+        }
+        return (byte) Character.toUpperCase(tone.charAt(0));
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putLong(startedAtMillis);
+        byte[] target = targetPhoneNumber.getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < TARGET_SIZE; i++) {
+            buffer.put(i < target.length ? target[i] : 0);
+        }
+        buffer.put(finalState);
+        buffer.put((byte) (connected ? 1 : 0));
+        buffer.put(tone);
+        buffer.put(transferResult);
+        buffer.put(addParticipantAttempts);
+        buffer.put((byte) 0).put((byte) 0).put((byte) 0);
+        buffer.putInt(connectMillis);
+        buffer.putInt(playToToneMillis);
+        buffer.putInt(toneToTransferMillis);
+        buffer.putInt(totalMillis);
+    }
+
+    /// <summary>
+    /// Read the record starting at an absolute position of the buffer
+    /// </summary>
+    public static CallOutcome readFrom(ByteBuffer buffer, int position) {
+        CallOutcome outcome = new CallOutcome();
+        outcome.startedAtMillis = buffer.getLong(position);
+        byte[] target = new byte[TARGET_SIZE];
+        int length = 0;
+        while (length < TARGET_SIZE && buffer.get(position + 8 + length) != 0) {
+            target[length] = buffer.get(position + 8 + length);
+            length++;
+        }
+        outcome.targetPhoneNumber = new String(target, 0, length, StandardCharsets.US_ASCII);
+        outcome.finalState = buffer.get(position + 24);
+        outcome.connected = buffer.get(position + 25) != 0;
+        outcome.tone = buffer.get(position + 26);
+        outcome.transferResult = buffer.get(position + 27);
+        outcome.addParticipantAttempts = buffer.get(position + 28);
+        outcome.connectMillis = buffer.getInt(position + 32);
+        outcome.playToToneMillis = buffer.getInt(position + 36);
+        outcome.toneToTransferMillis = buffer.getInt(position + 40);
+        outcome.totalMillis = buffer.getInt(position + 44);
+        return outcome;
+    }
+}
@@ -0,0 +1,128 @@
+package com.communication.outboundcallreminder.Outcomes;
+
+import com.communication.outboundcallreminder.ConfigurationManager;
+import com.communication.outboundcallreminder.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/// <summary>
+/// Appends call outcomes to the binary file set by OutcomeFile. Call threads only enqueue the
+/// outcome; a single writer thread drains the queue in batches, so a call never waits for disk.
+/// The file starts with a header: magic "CORO", format version (int) and record size (int).
+/// </summary>
+public class CallOutcomeSink {
+    public static final int MAGIC = 0x434f524f;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 12;
+
+    private final ArrayBlockingQueue<CallOutcome> pending;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final ByteBuffer batch;
+    private FileChannel channel;
+
+    private CallOutcomeSink() {
+        ConfigurationManager configuration = ConfigurationManager.getInstance();
+        String fileName = configuration.getAppSettings("OutcomeFile", "");
+        int bufferRecords = configuration.getAppSettings("OutcomeBufferRecords", 8192);
+        pending = new ArrayBlockingQueue<>(Math.max(1, bufferRecords));
+        batch = ByteBuffer.allocateDirect(CallOutcome.RECORD_SIZE * 512);
+
+        if (fileName.isEmpty()) {
+            return;
+        }
+
+        try {
+            channel = open(Paths.get(fileName));
+        } catch (IOException ex) {
+            Logger.logMessage(Logger.MessageType.ERROR, "Failed to open outcome file " + fileName + " -- > " + ex.getMessage());
+            return;
+        }
+
+        ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor((task) -> {
+            Thread thread = new Thread(task, "outcome-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int flushIntervalMillis = configuration.getAppSettings("OutcomeFlushIntervalMillis", 1000);
+        writer.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "outcome-writer-flush"));
+    }
+
+    private static class InstanceHolder {
+        private static final CallOutcomeSink instance = new CallOutcomeSink();
+    }
+
+    public static CallOutcomeSink getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    /// <summary>
+    /// Queue the outcome of a call; dropped (and counted) if the writer has fallen behind
+    /// </summary>
+    public void record(CallOutcome outcome) {
+        if (channel != null && !pending.offer(outcome)) {
+            droppedCount.incrementAndGet();
+        }
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /// <summary>
+    /// Open the outcome file for appending, writing the header when the file is new
+    /// </summary>
+    static FileChannel open(Path file) throws IOException {
+        FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (fileChannel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).putInt(CallOutcome.RECORD_SIZE);
+            header.flip();
+            fileChannel.write(header);
+        }
+        // Drop a record torn by a crash so the file stays aligned on records
+        long records = (fileChannel.size() - HEADER_SIZE) / CallOutcome.RECORD_SIZE;
+        fileChannel.truncate(HEADER_SIZE + records * CallOutcome.RECORD_SIZE);
+        fileChannel.position(fileChannel.size());
+        return fileChannel;
+    }
+
+    private synchronized void flush() {
+        try {
+            CallOutcome outcome;
+            while ((outcome = pending.poll()) != null) {
+                outcome.writeTo(batch);
+                if (!batch.hasRemaining()) {
+                    writeBatch();
+                }
+            }
+            writeBatch();
+        } catch (IOException ex) {
+            Logger.logMessage(Logger.MessageType.ERROR, "Failed to write call outcomes -- > " + ex.getMessage());
+        }
+    }
+
+    private void writeBatch() throws IOException {
+        int records = batch.position() / CallOutcome.RECORD_SIZE;
+        batch.flip();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        batch.clear();
+        writtenCount.addAndGet(records);
+    }
+}
@@ -0,0 +1,135 @@
+package com.communication.outboundcallreminder.Outcomes;
+
+import com.communication.outboundcallreminder.CallState;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+
+/// <summary>
+/// Command line tool that aggregates an outcome file written by CallOutcomeSink.
+/// Usage: OutcomeQuery file [--since ISO-8601 instant] [--target phone number]
+/// The file is memory mapped and scanned record by record, so millions of outcomes take seconds.
+/// </summary>
+public class OutcomeQuery {
+    private static final int MAX_RECORDS_PER_MAP = Integer.MAX_VALUE / CallOutcome.RECORD_SIZE;
+
+    private long since = Long.MIN_VALUE;
+    private String target;
+
+    private long total;
+    private long connected;
+    private long transferAttempted;
+    private long transferSucceeded;
+    private long addParticipantAttempts;
+    private final Map<String, Long> toneCounts = new TreeMap<>();
+    private final Map<String, Long> finalStateCounts = new TreeMap<>();
+    private final Histogram connectMillis = new Histogram(Integer.MAX_VALUE, 3);
+    private final Histogram totalMillis = new Histogram(Integer.MAX_VALUE, 3);
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: OutcomeQuery file [--since 2021-06-01T00:00:00Z] [--target +15551234567]");
+            System.exit(1);
+        }
+
+        OutcomeQuery query = new OutcomeQuery();
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--since")) {
+                query.since = Instant.parse(args[i + 1]).toEpochMilli();
+            } else if (args[i].equals("--target")) {
+                query.target = args[i + 1];
+            }
+        }
+
+        long startNanos = System.nanoTime();
+        query.scan(args[0]);
+        query.print(System.nanoTime() - startNanos);
+    }
+
+    private void scan(String fileName) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            if (channel.size() < CallOutcomeSink.HEADER_SIZE) {
+                throw new IOException("Not an outcome file: " + fileName);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, CallOutcomeSink.HEADER_SIZE);
+            if (header.getInt(0) != CallOutcomeSink.MAGIC || header.getInt(4) != CallOutcomeSink.VERSION
+                    || header.getInt(8) != CallOutcome.RECORD_SIZE) {
+                throw new IOException("Unsupported outcome file format: " + fileName);
+            }
+
+            long records = (channel.size() - CallOutcomeSink.HEADER_SIZE) / CallOutcome.RECORD_SIZE;
+            for (long first = 0; first < records; first += MAX_RECORDS_PER_MAP) {
+                int count = (int) Math.min(MAX_RECORDS_PER_MAP, records - first);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                        CallOutcomeSink.HEADER_SIZE + first * CallOutcome.RECORD_SIZE, (long) count * CallOutcome.RECORD_SIZE);
+                for (int i = 0; i < count; i++) {
+                    add(CallOutcome.readFrom(buffer, i * CallOutcome.RECORD_SIZE));
+                }
+            }
+        }
+    }
+
+    private void add(CallOutcome outcome) {
+        if (outcome.startedAtMillis < since || (target != null && !target.equals(outcome.targetPhoneNumber))) {
+            return;
+        }
+
+        total++;
+        CallState[] states = CallState.values();
+        String finalState = (outcome.finalState >= 0 && outcome.finalState < states.length)
+                ? states[outcome.finalState].toString() : String.valueOf(outcome.finalState);
+        finalStateCounts.merge(finalState, 1L, Long::sum);
+        addParticipantAttempts += outcome.addParticipantAttempts;
+        if (outcome.connected) {
+            connected++;
+        }
+        if (outcome.tone != 0) {
+            toneCounts.merge(String.valueOf((char) outcome.tone), 1L, Long::sum);
+        }
+        if (outcome.transferResult != CallOutcome.TRANSFER_NOT_ATTEMPTED) {
+            transferAttempted++;
+            if (outcome.transferResult == CallOutcome.TRANSFER_SUCCEEDED) {
+                transferSucceeded++;
+            }
+        }
+        if (outcome.connectMillis >= 0) {
+            connectMillis.recordValue(outcome.connectMillis);
+        }
+        if (outcome.totalMillis >= 0) {
+            totalMillis.recordValue(outcome.totalMillis);
+        }
+    }
+
+    private void print(long elapsedNanos) {
+        System.out.println("Calls: " + total);
+        System.out.println("Connected: " + connected + " (" + percent(connected, total) + ")");
+        System.out.println("Tones: " + toneCounts);
+        System.out.println("Transfers: " + transferSucceeded + " of " + transferAttempted + " succeeded ("
+                + percent(transferSucceeded, transferAttempted) + ")");
+        System.out.println("Add participant attempts per transfer: "
+                + (transferAttempted == 0 ? "0" : String.format("%.2f", (double) addParticipantAttempts / transferAttempted)));
+        System.out.println("Final states: " + finalStateCounts);
+        System.out.println("Connect ms: " + percentiles(connectMillis));
+        System.out.println("Total ms: " + percentiles(totalMillis));
+        System.out.println(String.format("Scanned in %.2f s", elapsedNanos / 1e9));
+    }
+
+    private static String percent(long part, long whole) {
+        return whole == 0 ? "n/a" : String.format("%.1f%%", 100.0 * part / whole);
+    }
+
+    private static String percentiles(Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return "n/a";
+        }
+        return "p50=" + histogram.getValueAtPercentile(50) + " p90=" + histogram.getValueAtPercentile(90)
+                + " p99=" + histogram.getValueAtPercentile(99) + " max=" + histogram.getMaxValue();
+    }
+}
@@ -0,0 +1,58 @@
+package com.communication.outboundcallreminder.Scheduling;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/// <summary>
+/// Circuit breaker for one target. After "failureThreshold" consecutive failures the circuit opens and
+/// requests fail fast for "openDuration". Then a single trial request is let through (half open):
+/// success closes the circuit, failure opens it again.
+/// </summary>
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openUntilNanos = new AtomicLong();
+    private volatile State state = State.CLOSED;
+
+    public CircuitBreaker(int failureThreshold, long openDuration, TimeUnit unit) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationNanos = unit.toNanos(openDuration);
+    }
+
+    public boolean allowRequest() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+
+        // Let one trial request through per open period; a trial that never reports back is retried after another period
+        long openUntil = openUntilNanos.get();
+        if (System.nanoTime() - openUntil >= 0
+                && openUntilNanos.compareAndSet(openUntil, System.nanoTime() + openDurationNanos)) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+        return false;
+    }
+
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        state = State.CLOSED;
+    }
+
+    public void recordFailure() {
+        if (state == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openUntilNanos.set(System.nanoTime() + openDurationNanos);
+            state = State.OPEN;
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,127 @@
+package com.communication.outboundcallreminder.Scheduling;
+
+import com.communication.outboundcallreminder.CallFlowExecutor;
+import com.communication.outboundcallreminder.ConfigurationManager;
+import com.communication.outboundcallreminder.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/// <summary>
+/// Retries failed operations with exponential backoff and jitter, without holding a thread between attempts.
+/// Each target has a circuit breaker, so a target that keeps failing is not called again until it had time to recover.
+/// </summary>
+public class RetryScheduler {
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final int failureThreshold;
+    private final int openSeconds;
+    private final ConcurrentHashMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    private final AtomicLong attemptCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong successCount = new AtomicLong();
+    private final AtomicLong exhaustedCount = new AtomicLong();
+    private final AtomicLong circuitOpenCount = new AtomicLong();
+
+    private RetryScheduler() {
+        this(ConfigurationManager.getInstance().getAppSettings("RetryBaseDelayMillis", 1000),
+                ConfigurationManager.getInstance().getAppSettings("RetryMaxDelayMillis", 30000),
+                ConfigurationManager.getInstance().getAppSettings("CircuitBreakerFailureThreshold", 5),
+                ConfigurationManager.getInstance().getAppSettings("CircuitBreakerOpenSeconds", 60));
+    }
+
+    RetryScheduler(long baseDelayMillis, long maxDelayMillis, int failureThreshold, int openSeconds) {
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.failureThreshold = failureThreshold;
+        this.openSeconds = openSeconds;
+    }
+
+    private static class InstanceHolder {
+        private static final RetryScheduler instance = new RetryScheduler();
+    }
+
+    public static RetryScheduler getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    /// <summary>
+    /// Run an operation against a target, retrying it up to maxRetries times while it fails
+    /// </summary>
+    /// <param name="target">Target of the operation, used to select its circuit breaker.</param>
+    /// <param name="operation">Starts attempt number n (0 for the first attempt) and returns whether it succeeded.</param>
+    /// <returns>Future completed with true once an attempt succeeded, or false when every attempt failed.</returns>
+    public CompletableFuture<Boolean> execute(String target, IntFunction<CompletableFuture<Boolean>> operation, int maxRetries) {
+        return attempt(target, operation, 0, maxRetries);
+    }
+
+    private CompletableFuture<Boolean> attempt(String target, IntFunction<CompletableFuture<Boolean>> operation,
+            int attemptNumber, int maxRetries) {
+        CircuitBreaker circuitBreaker = circuitBreakers.computeIfAbsent(target,
+                (key) -> new CircuitBreaker(failureThreshold, openSeconds, TimeUnit.SECONDS));
+        if (!circuitBreaker.allowRequest()) {
+            circuitOpenCount.incrementAndGet();
+            Logger.logMessage(Logger.MessageType.INFORMATION, "Circuit open for target -- > " + target + ", attempt skipped");
+            return CompletableFuture.completedFuture(false);
+        }
+
+        attemptCount.incrementAndGet();
+        if (attemptNumber > 0) {
+            retryCount.incrementAndGet();
+        }
+
+        CompletableFuture<Boolean> result;
+        try {
+            result = operation.apply(attemptNumber);
+        } catch (Exception ex) {
+            result = CompletableFuture.failedFuture(ex);
+        }
+
+        return result.exceptionally(ex -> false).thenComposeAsync(succeeded -> {
+            if (succeeded) {
+                circuitBreaker.recordSuccess();
+                successCount.incrementAndGet();
+                return CompletableFuture.completedFuture(true);
+            }
+
+            circuitBreaker.recordFailure();
+            if (attemptNumber >= maxRetries) {
+                exhaustedCount.incrementAndGet();
+                return CompletableFuture.completedFuture(false);
+            }
+
+            long delayMillis = backoffDelayMillis(attemptNumber);
+            return TimeoutScheduler.getInstance().delay(delayMillis, TimeUnit.MILLISECONDS)
+                    .thenCompose(delayed -> attempt(target, operation, attemptNumber + 1, maxRetries));
+        }, CallFlowExecutor.getInstance());
+    }
+
+    /// Exponential backoff with "equal jitter": half of the delay is fixed, the other half is random
+    private long backoffDelayMillis(int attemptNumber) {
+        long delay = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attemptNumber, 20));
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    public CircuitBreaker.State getCircuitState(String target) {
+        CircuitBreaker circuitBreaker = circuitBreakers.get(target);
+        return (circuitBreaker != null) ? circuitBreaker.getState() : CircuitBreaker.State.CLOSED;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("attempts", attemptCount.get());
+        metrics.put("retries", retryCount.get());
+        metrics.put("succeeded", successCount.get());
+        metrics.put("exhausted", exhaustedCount.get());
+        metrics.put("circuitOpenRejections", circuitOpenCount.get());
+        return metrics;
+    }
+}
@@ -0,0 +1,81 @@
+package com.communication.outboundcallreminder.Scheduling;
+
+import com.communication.outboundcallreminder.CallFlowExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/// <summary>
+/// Single timer thread shared by every call flow for its deadlines (play audio, tone, add participant).
+/// The timer thread only fires deadlines; the work they trigger runs on the call flow executor.
+/// A deadline is cancelled and removed from the timer queue as soon as the awaited event arrives.
+/// </summary>
+public class TimeoutScheduler {
+    private final ScheduledThreadPoolExecutor timer;
+
+    private TimeoutScheduler() {
+        timer = new ScheduledThreadPoolExecutor(1, (task) -> {
+            Thread thread = new Thread(task, "call-flow-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    private static class InstanceHolder {
+        private static final TimeoutScheduler instance = new TimeoutScheduler();
+    }
+
+    public static TimeoutScheduler getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    /// <summary>
+    /// Run a task on the call flow executor after the given delay
+    /// </summary>
+    public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return timer.schedule(() -> CallFlowExecutor.getInstance().execute(task), delay, unit);
+    }
+
+    /// <summary>
+    /// Run a task on the call flow executor periodically
+    /// </summary>
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period, TimeUnit unit) {
+        return timer.scheduleAtFixedRate(() -> CallFlowExecutor.getInstance().execute(task), period, period, unit);
+    }
+
+    /// <summary>
+    /// Run onTimeout if the awaited task is not complete when the deadline expires.
+    /// The deadline is cancelled when the task completes first.
+    /// </summary>
+    /// <returns>The awaited task.</returns>
+    public <T> CompletableFuture<T> withTimeout(CompletableFuture<T> task, long timeout, TimeUnit unit, Runnable onTimeout) {
+        if (task.isDone()) {
+            return task;
+        }
+
+        ScheduledFuture<?> deadline = schedule(() -> {
+            if (!task.isDone()) {
+                onTimeout.run();
+            }
+        }, timeout, unit);
+        task.whenComplete((result, ex) -> deadline.cancel(false));
+        return task;
+    }
+
+    /// <summary>
+    /// Future completed after the given delay without holding a thread. Cancelling the future cancels the timer.
+    /// </summary>
+    public CompletableFuture<Void> delay(long delay, TimeUnit unit) {
+        CompletableFuture<Void> delayed = new CompletableFuture<>();
+        ScheduledFuture<?> timeout = schedule(() -> delayed.complete(null), delay, unit);
+        delayed.whenComplete((result, ex) -> timeout.cancel(false));
+        return delayed;
+    }
+
+    public int getPendingCount() {
+        return timer.getQueue().size();
+    }
+}
@@ -0,0 +1,70 @@
+package com.communication.outboundcallreminder.Scheduling;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/// <summary>
+/// Lock-free token bucket. Permits are handed out at a steady rate, and up to "burst" permits
+/// can be taken at once after an idle period. The rate can be changed at any time.
+/// </summary>
+public class TokenBucket {
+    private final AtomicLong nextFreeNanos;
+    private volatile long intervalNanos;
+    private volatile int burst;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        setRate(permitsPerSecond);
+        this.burst = Math.max(1, burst);
+        this.nextFreeNanos = new AtomicLong(System.nanoTime());
+    }
+
+    public void setRate(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+    }
+
+    public double getRate() {
+        return (double) TimeUnit.SECONDS.toNanos(1) / intervalNanos;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = Math.max(1, burst);
+    }
+
+    /// <summary>
+    /// Reserve one permit
+    /// </summary>
+    /// <returns>Nanoseconds to wait before the permit may be used (0 when it is available now).</returns>
+    public long reserve() {
+        while (true) {
+            long now = System.nanoTime();
+            long interval = intervalNanos;
+            long current = nextFreeNanos.get();
+            // Idle time builds up at most "burst" permits
+            long next = Math.max(current, now - (burst - 1) * interval);
+            if (nextFreeNanos.compareAndSet(current, next + interval)) {
+                return Math.max(0, next - now);
+            }
+        }
+    }
+
+    /// <summary>
+    /// Take one permit if it is available now
+    /// </summary>
+    public boolean tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long interval = intervalNanos;
+            long current = nextFreeNanos.get();
+            long next = Math.max(current, now - (burst - 1) * interval);
+            if (next > now) {
+                return false;
+            }
+            if (nextFreeNanos.compareAndSet(current, next + interval)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.communication.outboundcallreminder;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CallFlowExecutorTest {
+
+    @Test
+    void parsesTheThreadModeIgnoringCase() {
+        assertEquals(CallFlowExecutor.ThreadMode.VIRTUAL, CallFlowExecutor.parseThreadMode(" virtual "));
+        assertEquals(CallFlowExecutor.ThreadMode.PLATFORM, CallFlowExecutor.parseThreadMode("Platform"));
+    }
+
+    @Test
+    void fallsBackToPlatformThreadsOnAnInvalidMode() {
+        assertEquals(CallFlowExecutor.ThreadMode.PLATFORM, CallFlowExecutor.parseThreadMode("virtaul"));
+        assertEquals(CallFlowExecutor.ThreadMode.PLATFORM, CallFlowExecutor.parseThreadMode(""));
+    }
+}
@@ -0,0 +1,76 @@
+package com.communication.outboundcallreminder.Cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashRingTest {
+    private static final int KEYS = 10000;
+
+    @Test
+    void hasNoOwnerWhenEmpty() {
+        assertNull(new HashRing(Collections.emptyList(), 100).ownerOf("call-1"));
+    }
+
+    @Test
+    void mapsAKeyToTheSameNodeOnEveryRing() {
+        HashRing ring = new HashRing(Arrays.asList("node-a", "node-b", "node-c"), 100);
+        HashRing sameNodesInAnotherOrder = new HashRing(Arrays.asList("node-c", "node-a", "node-b"), 100);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(ring.ownerOf("call-" + i), sameNodesInAnotherOrder.ownerOf("call-" + i));
+        }
+    }
+
+    @Test
+    void spreadsKeysOverEveryNode() {
+        HashRing ring = new HashRing(Arrays.asList("node-a", "node-b", "node-c"), 100);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.ownerOf("call-" + i), 1, Integer::sum);
+        }
+
+        assertEquals(3, counts.size());
+        for (int count : counts.values()) {
+            assertTrue(count > KEYS / 6, "unbalanced ring " + counts);
+        }
+    }
+
+    @Test
+    void onlyMovesTheKeysOfARemovedNode() {
+        HashRing ring = new HashRing(Arrays.asList("node-a", "node-b", "node-c"), 100);
+        HashRing withoutC = new HashRing(Arrays.asList("node-a", "node-b"), 100);
+
+        for (int i = 0; i < KEYS; i++) {
+            String owner = ring.ownerOf("call-" + i);
+            if (!owner.equals("node-c")) {
+                assertEquals(owner, withoutC.ownerOf("call-" + i));
+            }
+        }
+    }
+
+    @Test
+    void wrapsKeysPastTheLastPointToTheFirstNode() {
+        HashRing ring = new HashRing(Arrays.asList("node-a", "node-b"), 1);
+        long pointA = HashRing.hash("node-a#0");
+        long pointB = HashRing.hash("node-b#0");
+        String firstNode = pointA < pointB ? "node-a" : "node-b";
+
+        int wrapped = 0;
+        for (int i = 0; i < 1000; i++) {
+            String key = "call-" + i;
+            if (HashRing.hash(key) > Math.max(pointA, pointB)) {
+                assertEquals(firstNode, ring.ownerOf(key));
+                wrapped++;
+            }
+        }
+        assertTrue(wrapped > 0);
+    }
+}
@@ -0,0 +1,50 @@
+package com.communication.outboundcallreminder.Controllers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OutboundCallControllerTest {
+	private static final long LENGTH = 1000;
+	private static final long[] WHOLE_FILE = new long[0];
+
+	@Test
+	void parsesABoundedRange() {
+		assertArrayEquals(new long[] { 0, 100 }, OutboundCallController.parseRange("bytes=0-99", LENGTH));
+		assertArrayEquals(new long[] { 500, 501 }, OutboundCallController.parseRange("bytes=500-500", LENGTH));
+	}
+
+	@Test
+	void clampsTheRangeToTheEndOfTheFile() {
+		assertArrayEquals(new long[] { 900, 1000 }, OutboundCallController.parseRange("bytes=900-", LENGTH));
+		assertArrayEquals(new long[] { 900, 1000 }, OutboundCallController.parseRange("bytes=900-5000", LENGTH));
+		assertArrayEquals(new long[] { 999, 1000 }, OutboundCallController.parseRange("bytes=999-999", LENGTH));
+	}
+
+	@Test
+	void parsesASuffixRange() {
+		assertArrayEquals(new long[] { 900, 1000 }, OutboundCallController.parseRange("bytes=-100", LENGTH));
+		assertArrayEquals(new long[] { 0, 1000 }, OutboundCallController.parseRange("bytes=-5000", LENGTH));
+	}
+
+	@Test
+	void rejectsARangePastTheEndOfTheFile() {
+		assertNull(OutboundCallController.parseRange("bytes=1000-", LENGTH));
+		assertNull(OutboundCallController.parseRange("bytes=2000-3000", LENGTH));
+		assertNull(OutboundCallController.parseRange("bytes=-0", LENGTH));
+		assertNull(OutboundCallController.parseRange("bytes=0-", 0));
+		assertNull(OutboundCallController.parseRange("bytes=-10", 0));
+	}
+
+	@Test
+	void ignoresInvalidAndUnsupportedRanges() {
+		assertArrayEquals(WHOLE_FILE, OutboundCallController.parseRange("bytes=500-100", LENGTH));
+		assertArrayEquals(WHOLE_FILE, OutboundCallController.parseRange("bytes=--5", LENGTH));
+		assertArrayEquals(WHOLE_FILE, OutboundCallController.parseRange("bytes=-1-2", LENGTH));
+		assertArrayEquals(WHOLE_FILE, OutboundCallController.parseRange("bytes=abc-", LENGTH));
+		assertArrayEquals(WHOLE_FILE, OutboundCallController.parseRange("bytes=100", LENGTH));
+		assertArrayEquals(WHOLE_FILE, OutboundCallController.parseRange("bytes=0-1,5-6", LENGTH));
+		assertArrayEquals(WHOLE_FILE, OutboundCallController.parseRange("items=0-99", LENGTH));
+	}
+}
@@ -0,0 +1,184 @@
+package com.communication.outboundcallreminder.Dialer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CampaignCheckpointTest {
+    private static final int MAX_FAILED_ROWS = 2;
+
+    private Path directory;
+    private Path checkpointFile;
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("checkpoint");
+        checkpointFile = directory.resolve("campaign.checkpoint");
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    /// Rows of 10 bytes each, as read from a call list
+    private static Destination row(int index) {
+        return new Destination("+1425555010" + index, "8:acs:user" + index, index * 10L, (index + 1) * 10L);
+    }
+
+    @Test
+    void startsAtTheBeginningWithoutAFile() throws IOException {
+        CampaignCheckpoint checkpoint = CampaignCheckpoint.load(checkpointFile, MAX_FAILED_ROWS);
+
+        assertEquals(0, checkpoint.getResumeOffset());
+        assertFalse(checkpoint.isCompleted(0));
+    }
+
+    @Test
+    void advancesTheWatermarkOverLeadingCompletedRows() throws IOException {
+        CampaignCheckpoint checkpoint = CampaignCheckpoint.load(checkpointFile, MAX_FAILED_ROWS);
+        for (int i = 0; i < 4; i++) {
+            checkpoint.markDialed(row(i));
+        }
+
+        checkpoint.markCompleted(row(0));
+        checkpoint.markCompleted(row(1));
+
+        assertEquals(20, checkpoint.getResumeOffset());
+        assertTrue(checkpoint.isCompleted(10));
+        assertFalse(checkpoint.isCompleted(20));
+    }
+
+    @Test
+    void holdsTheWatermarkAtARowCompletedOutOfOrder() throws IOException {
+        CampaignCheckpoint checkpoint = CampaignCheckpoint.load(checkpointFile, MAX_FAILED_ROWS);
+        for (int i = 0; i < 3; i++) {
+            checkpoint.markDialed(row(i));
+        }
+
+        checkpoint.markCompleted(row(2));
+        checkpoint.markCompleted(row(1));
+        assertEquals(0, checkpoint.getResumeOffset());
+
+        checkpoint.markCompleted(row(0));
+        assertEquals(30, checkpoint.getResumeOffset());
+    }
+
+    @Test
+    void movesTheWatermarkPastAFailedRow() throws IOException {
+        CampaignCheckpoint checkpoint = CampaignCheckpoint.load(checkpointFile, MAX_FAILED_ROWS);
+        for (int i = 0; i < 3; i++) {
+            checkpoint.markDialed(row(i));
+        }
+
+        checkpoint.markCompleted(row(0));
+        checkpoint.markFailed(row(1));
+        checkpoint.markCompleted(row(2));
+
+        assertEquals(30, checkpoint.getResumeOffset());
+    }
+
+    @Test
+    void redialsFailedRowsAfterARestart() throws IOException {
+        CampaignCheckpoint checkpoint = CampaignCheckpoint.load(checkpointFile, MAX_FAILED_ROWS);
+        for (int i = 0; i < 4; i++) {
+            checkpoint.markDialed(row(i));
+        }
+        checkpoint.markFailed(row(2));
+        checkpoint.markCompleted(row(3));
+        checkpoint.markFailed(row(1));
+        checkpoint.markCompleted(row(0));
+        checkpoint.save();
+
+        CampaignCheckpoint restored = CampaignCheckpoint.load(checkpointFile, MAX_FAILED_ROWS);
+
+        assertEquals(40, restored.getResumeOffset());
+        assertEquals(Arrays.asList(10L, 20L), restored.getRetryRows());
+    }
+
+    @Test
+    void forgetsARetriedRowOnceItsCallSucceeds() throws IOException {
+        Files.write(checkpointFile, "offset=40\nfailed=10\nfailed=20\n".getBytes(StandardCharsets.UTF_8));
+        CampaignCheckpoint checkpoint = CampaignCheckpoint.load(checkpointFile, MAX_FAILED_ROWS);
+        checkpoint.markDialed(row(1));
+        checkpoint.markDialed(row(2));
+
+        checkpoint.markCompleted(row(1));
+        checkpoint.markFailed(row(2));
+        checkpoint.save();
+
+        // Retried rows do not move the watermark
+        assertEquals(40, checkpoint.getResumeOffset());
+        assertEquals(Collections.singletonList(20L), CampaignCheckpoint.load(checkpointFile, MAX_FAILED_ROWS).getRetryRows());
+    }
+
+    @Test
+    void rereadsAFailedRowTheWatermarkHasNotPassed() throws IOException {
+        CampaignCheckpoint checkpoint = CampaignCheckpoint.load(checkpointFile, MAX_FAILED_ROWS);
+        checkpoint.markDialed(row(0));
+        checkpoint.markDialed(row(1));
+        checkpoint.markFailed(row(1));
+        checkpoint.save();
+
+        CampaignCheckpoint restored = CampaignCheckpoint.load(checkpointFile, MAX_FAILED_ROWS);
+
+        // Reading on from the watermark reaches the row again, so it is not retried separately
+        assertEquals(0, restored.getResumeOffset());
+        assertFalse(restored.isCompleted(10));
+        assertTrue(restored.getRetryRows().isEmpty());
+    }
+
+    @Test
+    void remembersAtMostMaxFailedRows() throws IOException {
+        CampaignCheckpoint checkpoint = CampaignCheckpoint.load(checkpointFile, MAX_FAILED_ROWS);
+        for (int i = 0; i < 4; i++) {
+            checkpoint.markDialed(row(i));
+            checkpoint.markFailed(row(i));
+        }
+        checkpoint.save();
+
+        CampaignCheckpoint restored = CampaignCheckpoint.load(checkpointFile, MAX_FAILED_ROWS);
+
+        assertEquals(40, restored.getResumeOffset());
+        assertEquals(Arrays.asList(0L, 10L), restored.getRetryRows());
+    }
+
+    @Test
+    void dropsRestoredRowsOnceTheWatermarkPassesThem() throws IOException {
+        Files.write(checkpointFile, "offset=10\ncompleted=20\n".getBytes(StandardCharsets.UTF_8));
+        CampaignCheckpoint checkpoint = CampaignCheckpoint.load(checkpointFile, MAX_FAILED_ROWS);
+        checkpoint.markDialed(row(1));
+        checkpoint.markDialed(row(3));
+
+        checkpoint.markCompleted(row(1));
+        checkpoint.markCompleted(row(3));
+        checkpoint.save();
+
+        assertEquals(40, checkpoint.getResumeOffset());
+        assertEquals("offset=40", new String(Files.readAllBytes(checkpointFile), StandardCharsets.UTF_8).trim());
+    }
+
+    @Test
+    void ignoresRowsThatWereNotDialed() throws IOException {
+        CampaignCheckpoint checkpoint = CampaignCheckpoint.load(checkpointFile, MAX_FAILED_ROWS);
+
+        checkpoint.markCompleted(row(0));
+
+        assertEquals(0, checkpoint.getResumeOffset());
+    }
+}
@@ -0,0 +1,52 @@
+package com.communication.outboundcallreminder.Dialer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class CampaignDialerTest {
+
+    @Test
+    void skipsRowsOwnedByAnotherNodeWithoutReportingThem() throws IOException {
+        Path directory = Files.createTempDirectory("dialer");
+        Path callListFile = directory.resolve("calls.csv");
+        Files.write(callListFile, "+14255550100,u0\n+14255550101,u1\n+14255550102,u2\n+14255550103,u3\n".getBytes(StandardCharsets.UTF_8));
+        Path checkpointFile = directory.resolve("calls.csv.checkpoint");
+        List<String> dialed = new CopyOnWriteArrayList<>();
+
+        try {
+            CampaignDialer dialer = CampaignDialer.getInstance();
+            Map<String, Object> before = dialer.getProgress();
+            dialer.dial(callListFile, (destination) -> destination.getParticipant().equals("u1") || destination.getParticipant().equals("u3"),
+                    (destination) -> {
+                        dialed.add(destination.getParticipant());
+                        return CompletableFuture.completedFuture(destination.getParticipant().equals("u1"));
+                    });
+            Map<String, Object> after = dialer.getProgress();
+
+            assertEquals(Arrays.asList("u1", "u3"), dialed);
+            assertEquals(2L, (long) after.get("notOwned") - (long) before.get("notOwned"));
+            assertEquals(1L, (long) after.get("completed") - (long) before.get("completed"));
+            assertEquals(1L, (long) after.get("failed") - (long) before.get("failed"));
+            // Only the failed owned row is remembered for the next run
+            String checkpoint = new String(Files.readAllBytes(checkpointFile), StandardCharsets.UTF_8);
+            assertFalse(checkpoint.contains("completed="));
+            assertEquals(Arrays.asList(48L), CampaignCheckpoint.load(checkpointFile, 100).getRetryRows());
+        } finally {
+            Files.deleteIfExists(checkpointFile);
+            Files.deleteIfExists(callListFile);
+            Files.deleteIfExists(directory);
+        }
+    }
+}
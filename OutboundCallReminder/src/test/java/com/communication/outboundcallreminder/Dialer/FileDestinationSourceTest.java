@@ -0,0 +1,84 @@
+package com.communication.outboundcallreminder.Dialer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FileDestinationSourceTest {
+    private static final String CALL_LIST = "+14255550100,u0\n# comment line\n+14255550101,u1\nnot-a-row\n\n+14255550102,u2\n+14255550103,u3";
+
+    private Path directory;
+    private Path callListFile;
+    private Path checkpointFile;
+
+    @BeforeEach
+    void createFiles() throws IOException {
+        directory = Files.createTempDirectory("calllist");
+        callListFile = directory.resolve("calls.csv");
+        checkpointFile = directory.resolve("calls.csv.checkpoint");
+        Files.write(callListFile, CALL_LIST.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void deleteFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    private List<String> readTargets() throws IOException {
+        List<String> targets = new ArrayList<>();
+        CampaignCheckpoint checkpoint = CampaignCheckpoint.load(checkpointFile, 100);
+        try (FileDestinationSource source = new FileDestinationSource(callListFile, checkpoint)) {
+            while (source.hasNext()) {
+                targets.add(source.next().getTargetPhoneNumber());
+            }
+        }
+        return targets;
+    }
+
+    private static long offsetOf(String row) {
+        return CALL_LIST.indexOf(row);
+    }
+
+    @Test
+    void readsEveryValidRow() throws IOException {
+        assertEquals(Arrays.asList("+14255550100", "+14255550101", "+14255550102", "+14255550103"), readTargets());
+    }
+
+    @Test
+    void resumesAtTheWatermark() throws IOException {
+        Files.write(checkpointFile, ("offset=" + offsetOf("+14255550102") + "\n").getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(Arrays.asList("+14255550102", "+14255550103"), readTargets());
+    }
+
+    @Test
+    void redialsFailedRowsBeforeResuming() throws IOException {
+        String checkpoint = "offset=" + offsetOf("+14255550102") + "\nfailed=" + offsetOf("+14255550101")
+                + "\nfailed=" + offsetOf("+14255550100") + "\n";
+        Files.write(checkpointFile, checkpoint.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(Arrays.asList("+14255550100", "+14255550101", "+14255550102", "+14255550103"), readTargets());
+    }
+
+    @Test
+    void redialsAFailedLastRowWithoutANewline() throws IOException {
+        String checkpoint = "offset=" + CALL_LIST.length() + "\nfailed=" + offsetOf("+14255550103") + "\n";
+        Files.write(checkpointFile, checkpoint.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(Arrays.asList("+14255550103"), readTargets());
+    }
+}
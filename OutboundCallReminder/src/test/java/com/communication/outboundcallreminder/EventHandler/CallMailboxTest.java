@@ -0,0 +1,200 @@
+package com.communication.outboundcallreminder.EventHandler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CallMailboxTest {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private DispatchWorkerPool workerPool;
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        if (workerPool != null) {
+            workerPool.shutdown();
+        }
+    }
+
+    /// A pool of one worker that is busy and a full queue, so the next task is rejected
+    private DispatchWorkerPool saturatedPool(DispatchWorkerPool.RejectionPolicy rejectionPolicy) throws InterruptedException {
+        workerPool = new DispatchWorkerPool(1, 1, rejectionPolicy);
+        CountDownLatch started = new CountDownLatch(1);
+        workerPool.execute(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        workerPool.execute(() -> { });
+        return workerPool;
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void runsTasksOneAtATimeInArrivalOrder() throws InterruptedException {
+        workerPool = new DispatchWorkerPool(4, 1000, DispatchWorkerPool.RejectionPolicy.CALLER_RUNS);
+        CallMailbox mailbox = new CallMailbox(workerPool, (idle) -> { });
+        List<Integer> order = new ArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        int taskCount = 500;
+        CountDownLatch done = new CountDownLatch(taskCount);
+
+        for (int i = 0; i < taskCount; i++) {
+            int task = i;
+            mailbox.enqueue(() -> {
+                if (running.incrementAndGet() > 1) {
+                    overlapped.set(true);
+                }
+                order.add(task);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertFalse(overlapped.get());
+        for (int i = 0; i < taskCount; i++) {
+            assertEquals(i, (int) order.get(i));
+        }
+    }
+
+    @Test
+    void runsARejectedTaskOnTheCallerWithCallerRuns() throws InterruptedException {
+        CallMailbox mailbox = new CallMailbox(saturatedPool(DispatchWorkerPool.RejectionPolicy.CALLER_RUNS), (idle) -> { });
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        mailbox.enqueue(() -> ranOn.set(Thread.currentThread()));
+
+        assertSame(Thread.currentThread(), ranOn.get());
+        assertTrue(mailbox.isIdle());
+        assertEquals(1, workerPool.getRejectedCount());
+    }
+
+    @Test
+    void dropsARejectedTaskWithDiscard() throws InterruptedException {
+        CallMailbox mailbox = new CallMailbox(saturatedPool(DispatchWorkerPool.RejectionPolicy.DISCARD), (idle) -> { });
+        AtomicBoolean ran = new AtomicBoolean();
+
+        mailbox.enqueue(() -> ran.set(true));
+
+        assertFalse(ran.get());
+        assertTrue(mailbox.isIdle());
+    }
+
+    @Test
+    void failsARejectedTaskWithAbortAndAcceptsTheNextOne() throws InterruptedException {
+        CallMailbox mailbox = new CallMailbox(saturatedPool(DispatchWorkerPool.RejectionPolicy.ABORT), (idle) -> { });
+        AtomicBoolean ran = new AtomicBoolean();
+
+        assertThrows(RejectedExecutionException.class, () -> mailbox.enqueue(() -> ran.set(true)));
+        assertFalse(ran.get());
+        assertTrue(mailbox.isIdle());
+
+        // The mailbox is not left scheduled, so it drains again once the pool has room
+        release.countDown();
+        CountDownLatch done = new CountDownLatch(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            try {
+                mailbox.enqueue(done::countDown);
+                break;
+            } catch (RejectedExecutionException ex) {
+                assertTrue(System.nanoTime() < deadline);
+                Thread.sleep(10);
+            }
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertFalse(ran.get());
+    }
+
+    @Test
+    void reportsIdleOnlyWithoutSubscriptions() throws InterruptedException {
+        workerPool = new DispatchWorkerPool(1, 10, DispatchWorkerPool.RejectionPolicy.CALLER_RUNS);
+        CountDownLatch idle = new CountDownLatch(1);
+        AtomicReference<CallMailbox> idleMailbox = new AtomicReference<>();
+        CallMailbox mailbox = new CallMailbox(workerPool, (drained) -> {
+            idleMailbox.set(drained);
+            idle.countDown();
+        });
+
+        mailbox.subscriptionCount = 1;
+        CountDownLatch done = new CountDownLatch(1);
+        mailbox.enqueue(done::countDown);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertFalse(idle.await(100, TimeUnit.MILLISECONDS));
+
+        mailbox.subscriptionCount = 0;
+        mailbox.enqueue(() -> { });
+        assertTrue(idle.await(5, TimeUnit.SECONDS));
+        assertSame(mailbox, idleMailbox.get());
+    }
+
+    @Test
+    void leavesEventsQueuedDuringARejectionToAWorker() throws InterruptedException {
+        AtomicReference<CallMailbox> mailboxRef = new AtomicReference<>();
+        AtomicBoolean rejectNext = new AtomicBoolean(true);
+        AtomicReference<Thread> queuedRanOn = new AtomicReference<>();
+        CountDownLatch queuedRan = new CountDownLatch(1);
+        workerPool = new DispatchWorkerPool(1, 10, DispatchWorkerPool.RejectionPolicy.DISCARD) {
+            @Override
+            public boolean tryExecute(Runnable task) {
+                if (!rejectNext.getAndSet(false)) {
+                    return super.tryExecute(task);
+                }
+                // Another request thread queues an event while this drain is being rejected
+                Thread other = new Thread(() -> mailboxRef.get().enqueue(() -> {
+                    queuedRanOn.set(Thread.currentThread());
+                    queuedRan.countDown();
+                }));
+                other.start();
+                try {
+                    other.join();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+        };
+        CallMailbox mailbox = new CallMailbox(workerPool, (idle) -> { });
+        mailboxRef.set(mailbox);
+        AtomicBoolean rejectedRan = new AtomicBoolean();
+
+        mailbox.enqueue(() -> rejectedRan.set(true));
+
+        assertFalse(rejectedRan.get());
+        assertTrue(queuedRan.await(5, TimeUnit.SECONDS));
+        assertTrue(queuedRanOn.get().getName().startsWith("event-dispatcher-"));
+    }
+
+    @Test
+    void reportsIdleAfterRejectingTheLastEventOfAnUnusedMailbox() throws InterruptedException {
+        AtomicBoolean idle = new AtomicBoolean();
+        CallMailbox mailbox = new CallMailbox(saturatedPool(DispatchWorkerPool.RejectionPolicy.DISCARD), (drained) -> idle.set(true));
+
+        mailbox.enqueue(() -> { });
+
+        assertTrue(idle.get());
+    }
+}
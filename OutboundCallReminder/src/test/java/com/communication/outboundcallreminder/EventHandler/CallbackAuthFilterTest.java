@@ -0,0 +1,104 @@
+package com.communication.outboundcallreminder.EventHandler;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CallbackAuthFilterTest {
+    private static final int PASSED = HttpServletResponse.SC_OK;
+    private static final String SECRET = EventAuthHandler.getInstance().getSecretQuerystring().substring("secret=".length());
+
+    /// Run one request through the filter, returning SC_OK if it reached the chain or the status it was rejected with
+    private static int filter(CallbackAuthFilter filter, String remoteAddr, String forwardedFor, String queryString)
+            throws Exception {
+        Map<String, Object> request = new HashMap<>();
+        request.put("getRemoteAddr", remoteAddr);
+        request.put("getQueryString", queryString);
+        request.put("getHeader", forwardedFor);
+        int[] status = { 0 };
+
+        filter.doFilter((HttpServletRequest) Proxy.newProxyInstance(CallbackAuthFilterTest.class.getClassLoader(),
+                new Class<?>[] { HttpServletRequest.class }, (proxy, method, args) -> request.get(method.getName())),
+                (HttpServletResponse) Proxy.newProxyInstance(CallbackAuthFilterTest.class.getClassLoader(),
+                new Class<?>[] { HttpServletResponse.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("setStatus")) {
+                        status[0] = (int) args[0];
+                    }
+                    return null;
+                }),
+                (chainRequest, chainResponse) -> status[0] = PASSED);
+        return status[0];
+    }
+
+    private static int filter(CallbackAuthFilter filter, String remoteAddr) throws Exception {
+        return filter(filter, remoteAddr, null, "secret=" + SECRET);
+    }
+
+    @Test
+    void rejectsAMissingOrWrongSecret() throws Exception {
+        CallbackAuthFilter filter = new CallbackAuthFilter(1000000, 1, 10, false);
+
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, filter(filter, "10.0.0.1", null, null));
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, filter(filter, "10.0.0.1", null, "other=" + SECRET));
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, filter(filter, "10.0.0.1", null, "secret=" + SECRET + "x"));
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, filter(filter, "10.0.0.1", null, "secret="));
+        assertEquals(4, filter.getUnauthorizedCount());
+        assertEquals(PASSED, filter(filter, "10.0.0.1", null, "callId=1&secret=" + SECRET));
+    }
+
+    @Test
+    void acceptsAPercentEncodedSecret() throws Exception {
+        CallbackAuthFilter filter = new CallbackAuthFilter(1000000, 1, 10, false);
+        StringBuilder encoded = new StringBuilder();
+        for (byte b : SECRET.getBytes(StandardCharsets.UTF_8)) {
+            encoded.append(String.format("%%%02X", b));
+        }
+
+        assertEquals(PASSED, filter(filter, "10.0.0.1", null, "secret=" + encoded));
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, filter(filter, "10.0.0.1", null, "secret=%zz"));
+    }
+
+    @Test
+    void rejectsASourceOverItsRateLimit() throws Exception {
+        CallbackAuthFilter filter = new CallbackAuthFilter(0.001, 1, 10, false);
+
+        assertEquals(PASSED, filter(filter, "10.0.0.1"));
+        assertEquals(HttpServletResponse.SC_TOO_MANY_REQUESTS, filter(filter, "10.0.0.1"));
+        // Rate limited before the secret is checked
+        assertEquals(HttpServletResponse.SC_TOO_MANY_REQUESTS, filter(filter, "10.0.0.1", null, null));
+        assertEquals(2, filter.getRateLimitedCount());
+        assertEquals(0, filter.getUnauthorizedCount());
+        assertEquals(PASSED, filter(filter, "10.0.0.2"));
+    }
+
+    @Test
+    void limitsTheAddressAppendedByTheTrustedProxy() throws Exception {
+        CallbackAuthFilter filter = new CallbackAuthFilter(0.001, 1, 10, true);
+
+        assertEquals(PASSED, filter(filter, "127.0.0.1", "192.0.2.1, 10.0.0.1", "secret=" + SECRET));
+        // A client cannot escape its limit by prepending addresses
+        assertEquals(HttpServletResponse.SC_TOO_MANY_REQUESTS, filter(filter, "127.0.0.1", "192.0.2.2, 10.0.0.1", "secret=" + SECRET));
+        assertEquals(PASSED, filter(filter, "127.0.0.1", "10.0.0.2", "secret=" + SECRET));
+    }
+
+    @Test
+    void startsAnEvictedSourceWithANewBucket() throws Exception {
+        CallbackAuthFilter filter = new CallbackAuthFilter(0.001, 1, 2, false);
+        assertEquals(PASSED, filter(filter, "10.0.0.1"));
+        assertEquals(PASSED, filter(filter, "10.0.0.2"));
+        assertEquals(HttpServletResponse.SC_TOO_MANY_REQUESTS, filter(filter, "10.0.0.1"));
+
+        // 10.0.0.2 is now the least recently seen source and makes room for 10.0.0.3
+        assertEquals(PASSED, filter(filter, "10.0.0.3"));
+
+        assertEquals(HttpServletResponse.SC_TOO_MANY_REQUESTS, filter(filter, "10.0.0.1"));
+        assertEquals(PASSED, filter(filter, "10.0.0.2"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.communication.outboundcallreminder.EventHandler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventDeduplicatorTest {
+
+    @Test
+    void dropsRedeliveries() {
+        EventDeduplicator deduplicator = new EventDeduplicator(100, 10, TimeUnit.MINUTES);
+
+        assertTrue(deduplicator.markSeen("event-1"));
+        assertTrue(deduplicator.markSeen("event-2"));
+        assertFalse(deduplicator.markSeen("event-1"));
+        assertEquals(1, deduplicator.getDuplicateCount());
+    }
+
+    @Test
+    void remembersTheGenerationBeforeARotation() {
+        // Generations of two ids
+        EventDeduplicator deduplicator = new EventDeduplicator(4, 10, TimeUnit.MINUTES);
+        deduplicator.markSeen("event-1");
+        deduplicator.markSeen("event-2");
+
+        assertTrue(deduplicator.markSeen("event-3"));
+        assertFalse(deduplicator.markSeen("event-1"));
+        assertFalse(deduplicator.markSeen("event-2"));
+    }
+
+    @Test
+    void forgetsTheOldestGenerationWhenFull() {
+        EventDeduplicator deduplicator = new EventDeduplicator(4, 10, TimeUnit.MINUTES);
+        for (int i = 1; i <= 5; i++) {
+            assertTrue(deduplicator.markSeen("event-" + i));
+        }
+
+        assertFalse(deduplicator.markSeen("event-4"));
+        assertTrue(deduplicator.markSeen("event-1"));
+    }
+
+    @Test
+    void forgetsIdsOlderThanTheWindow() throws InterruptedException {
+        EventDeduplicator deduplicator = new EventDeduplicator(100, 100, TimeUnit.MILLISECONDS);
+        deduplicator.markSeen("event-1");
+
+        // Half a window later the id moves to the previous generation
+        Thread.sleep(70);
+        assertFalse(deduplicator.markSeen("event-1"));
+        assertTrue(deduplicator.markSeen("event-2"));
+
+        Thread.sleep(70);
+        assertTrue(deduplicator.markSeen("event-3"));
+        assertTrue(deduplicator.markSeen("event-1"));
+    }
+
+    @Test
+    void acceptsAForgottenIdAgain() {
+        EventDeduplicator deduplicator = new EventDeduplicator(4, 10, TimeUnit.MINUTES);
+        deduplicator.markSeen("event-1");
+        deduplicator.markSeen("event-2");
+        deduplicator.markSeen("event-3");
+
+        deduplicator.forget("event-1");
+        deduplicator.forget("event-3");
+
+        assertTrue(deduplicator.markSeen("event-1"));
+        assertTrue(deduplicator.markSeen("event-3"));
+        assertEquals(0, deduplicator.getDuplicateCount());
+    }
+}
@@ -0,0 +1,79 @@
+package com.communication.outboundcallreminder.EventHandler;
+
+import com.azure.communication.callingserver.models.events.CallConnectionStateChangedEvent;
+import com.azure.communication.callingserver.models.events.CallingServerEventBase;
+import com.azure.communication.callingserver.models.events.ToneReceivedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventDispatcherTest {
+    private static final String CONNECTED_DATA = "{\"callConnectionId\":\"call-1\",\"serverCallId\":\"server-1\",\"callConnectionState\":\"connected\"}";
+    private static final String TONE_DATA = "{\"callConnectionId\":\"call-1\",\"toneInfo\":{\"sequenceId\":1,\"tone\":\"tone1\"}}";
+
+    private final EventDispatcher dispatcher = new EventDispatcher();
+
+    @AfterEach
+    void close() {
+        dispatcher.close();
+    }
+
+    private static String event(String id, String type, String data) {
+        return "{\"id\":\"" + id + "\",\"source\":\"calling/callConnections/call-1\",\"type\":\"Microsoft.Communication." + type
+                + "\",\"specversion\":\"1.0\",\"data\":" + data + "}";
+    }
+
+    @Test
+    void extractsEveryEventOfABatch() {
+        List<CallingServerEventBase> events = dispatcher.extractEvents("[" + event("1", "CallConnectionStateChanged", CONNECTED_DATA)
+                + "," + event("2", "ToneReceived", TONE_DATA) + "]");
+
+        assertEquals(2, events.size());
+        assertTrue(events.get(0) instanceof CallConnectionStateChangedEvent);
+        assertTrue(events.get(1) instanceof ToneReceivedEvent);
+    }
+
+    @Test
+    void extractsASingleEvent() {
+        List<CallingServerEventBase> events = dispatcher.extractEvents(event("1", "ToneReceived", TONE_DATA));
+
+        assertEquals(1, events.size());
+        assertEquals("call-1", ((ToneReceivedEvent) events.get(0)).getCallConnectionId());
+    }
+
+    @Test
+    void decodesBase64Data() {
+        String data = Base64.getEncoder().encodeToString(TONE_DATA.getBytes(StandardCharsets.UTF_8));
+        String content = "{\"id\":\"1\",\"type\":\"Microsoft.Communication.ToneReceived\",\"data_base64\":\"" + data + "\"}";
+
+        List<CallingServerEventBase> events = dispatcher.extractEvents(content);
+
+        assertEquals(1, events.size());
+        assertEquals("call-1", ((ToneReceivedEvent) events.get(0)).getCallConnectionId());
+    }
+
+    @Test
+    void skipsUnknownTypesAndEventsWithoutData() {
+        List<CallingServerEventBase> events = dispatcher.extractEvents("[" + event("1", "ParticipantsUpdated", "{\"participants\":[]}")
+                + ",{\"id\":\"2\",\"type\":\"Microsoft.Communication.ToneReceived\"}]");
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void keepsTheEventsParsedBeforeMalformedContent() {
+        assertTrue(dispatcher.extractEvents("not json").isEmpty());
+        assertTrue(dispatcher.extractEvents("").isEmpty());
+        assertTrue(dispatcher.extractEvents(null).isEmpty());
+        assertTrue(dispatcher.extractEvents("{\"id\":\"1\",\"type\":\"Microsoft.Communication.ToneReceived\",\"data_base64\":\"%%%\"}").isEmpty());
+
+        List<CallingServerEventBase> events = dispatcher.extractEvents("[" + event("1", "ToneReceived", TONE_DATA) + ",{\"id\":");
+        assertEquals(1, events.size());
+    }
+}
@@ -0,0 +1,84 @@
+package com.communication.outboundcallreminder.EventHandler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SubscriptionReaperTest {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private final ConcurrentHashMap<EventKey, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final List<Subscription> expired = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstExpiry = new CountDownLatch(1);
+    private final SubscriptionReaper reaper = new SubscriptionReaper(subscriptions, (subscription) -> {
+        expired.add(subscription);
+        firstExpiry.countDown();
+    }, TICK_NANOS);
+
+    @AfterEach
+    void close() {
+        reaper.close();
+    }
+
+    private Subscription subscribe(String callConnectionId, long ttlNanos) {
+        EventKey eventKey = new EventKey("ToneReceived", callConnectionId);
+        Subscription subscription = new Subscription(eventKey, null, null, (callEvent) -> { }, null, System.nanoTime() + ttlNanos);
+        subscriptions.put(eventKey, subscription);
+        reaper.track(subscription);
+        return subscription;
+    }
+
+    @Test
+    void evictsASubscriptionOnceItsDeadlinePassed() throws InterruptedException {
+        Subscription due = subscribe("call-1", TICK_NANOS);
+        Subscription pending = subscribe("call-2", TimeUnit.HOURS.toNanos(1));
+
+        assertTrue(firstExpiry.await(5, TimeUnit.SECONDS));
+
+        assertEquals(List.of(due), expired);
+        assertEquals(1, reaper.getExpiredCount());
+        assertFalse(subscriptions.containsKey(due.eventKey));
+        assertSame(pending, subscriptions.get(pending.eventKey));
+        assertEquals(1, reaper.getTrackedCount());
+    }
+
+    @Test
+    void forgetsASubscriptionRemovedBeforeItsDeadline() throws InterruptedException {
+        Subscription unsubscribed = subscribe("call-1", TICK_NANOS);
+        subscriptions.remove(unsubscribed.eventKey);
+        reaper.untrack(unsubscribed);
+        assertEquals(0, reaper.getTrackedCount());
+
+        // Filed after the first one, so it expires on the same tick or a later one
+        Subscription due = subscribe("call-2", 2 * TICK_NANOS);
+        assertTrue(firstExpiry.await(5, TimeUnit.SECONDS));
+
+        assertEquals(List.of(due), expired);
+        assertEquals(1, reaper.getExpiredCount());
+    }
+
+    @Test
+    void keepsASubscriptionRegisteredAgainUnderTheSameKey() throws InterruptedException {
+        Subscription replaced = subscribe("call-1", TICK_NANOS);
+        Subscription current = new Subscription(replaced.eventKey, null, null, (callEvent) -> { }, null,
+                System.nanoTime() + TimeUnit.HOURS.toNanos(1));
+        subscriptions.put(current.eventKey, current);
+        reaper.track(current);
+        Subscription due = subscribe("call-2", 2 * TICK_NANOS);
+
+        assertTrue(firstExpiry.await(5, TimeUnit.SECONDS));
+
+        assertEquals(List.of(due), expired);
+        assertSame(current, subscriptions.get(current.eventKey));
+    }
+}
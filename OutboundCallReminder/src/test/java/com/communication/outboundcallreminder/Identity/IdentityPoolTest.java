@@ -0,0 +1,64 @@
+package com.communication.outboundcallreminder.Identity;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IdentityPoolTest {
+    private Path directory;
+    private Path poolFile;
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("identity-pool");
+        poolFile = directory.resolve("identity-pool.txt");
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    void reclaimsTheLeasesOfAPreviousRun() throws IOException {
+        Files.write(poolFile, Arrays.asList("identity-1", "leased=identity-2"), StandardCharsets.UTF_8);
+
+        IdentityPool pool = new IdentityPool(null, poolFile, 2);
+
+        assertEquals(2, pool.getAvailableCount());
+    }
+
+    @Test
+    void leavesTheFileOfAnotherInstanceAlone() throws IOException {
+        List<String> lines = Arrays.asList("identity-1", "leased=identity-2");
+        Files.write(poolFile, lines, StandardCharsets.UTF_8);
+        new IdentityPool(null, poolFile, 2);
+
+        // Its leases belong to the instance holding the file, which is still running
+        IdentityPool other = new IdentityPool(null, poolFile, 2);
+
+        assertEquals(0, other.getAvailableCount());
+        assertEquals(lines, Files.readAllLines(poolFile, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void keysThePoolFileByNode() {
+        assertEquals(Paths.get("identity-pool.txt"), IdentityPool.poolFileOf("identity-pool.txt", ""));
+        assertEquals(Paths.get("identity-pool-node1.txt"), IdentityPool.poolFileOf("identity-pool.txt", "node1"));
+        assertEquals(Paths.get("pools", "identities-node1"), IdentityPool.poolFileOf("pools/identities", "node1"));
+    }
+}
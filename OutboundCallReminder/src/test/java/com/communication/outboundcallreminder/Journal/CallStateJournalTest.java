@@ -0,0 +1,217 @@
+package com.communication.outboundcallreminder.Journal;
+
+import com.communication.outboundcallreminder.CallState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CallStateJournalTest {
+    private static final int JOURNAL_SIZE = 64 * 1024;
+    private static final long RETENTION_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    private Path directory;
+    private Path journalFile;
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("journal");
+        journalFile = directory.resolve("calls.journal");
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    private CallStateJournal open() {
+        return new CallStateJournal(journalFile, JOURNAL_SIZE, RETENTION_MILLIS);
+    }
+
+    private List<Path> generationFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("calls.journal."))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path currentGeneration() throws IOException {
+        List<Path> generations = generationFiles();
+        assertEquals(1, generations.size());
+        return generations.get(0);
+    }
+
+    private static int readInt(FileChannel channel, long position) throws IOException {
+        ByteBuffer value = ByteBuffer.allocate(4);
+        channel.read(value, position);
+        return value.getInt(0);
+    }
+
+    @Test
+    void isDisabledWithoutAFile() {
+        CallStateJournal journal = new CallStateJournal(null, JOURNAL_SIZE, RETENTION_MILLIS);
+
+        journal.append("call", CallState.CREATING, null);
+
+        assertFalse(journal.isEnabled());
+        assertTrue(journal.getUnfinishedCalls().isEmpty());
+    }
+
+    @Test
+    void recoversTheLatestStateOfEachCall() {
+        CallStateJournal journal = open();
+        journal.append("call-1", CallState.CREATING, null);
+        journal.append("call-1", CallState.CONNECTING, "connection-1");
+        journal.append("call-2", CallState.CREATING, null);
+        journal.append("call-2", CallState.DISCONNECTED, "connection-2");
+
+        CallStateJournal recovered = open();
+
+        assertTrue(recovered.isEnabled());
+        assertTrue(recovered.isCompleted("call-2"));
+        assertFalse(recovered.isCompleted("call-1"));
+        assertEquals(Map.of("call-1", "connection-1"), recovered.getUnfinishedCalls());
+    }
+
+    @Test
+    void keepsTheConnectionIdUntilTheCallIsCreatedAgain() {
+        CallStateJournal journal = open();
+        journal.append("call", CallState.CONNECTING, "connection-1");
+        journal.append("call", CallState.PLAYING_AUDIO, null);
+        assertEquals("connection-1", journal.getUnfinishedCalls().get("call"));
+
+        journal.append("call", CallState.CREATING, null);
+        assertEquals("", journal.getUnfinishedCalls().get("call"));
+    }
+
+    @Test
+    void compactsIntoTheNextGenerationWhenFull() throws IOException {
+        CallStateJournal journal = new CallStateJournal(journalFile, 512, RETENTION_MILLIS);
+        Path firstGeneration = currentGeneration();
+
+        for (int i = 0; i < 200; i++) {
+            journal.append("call-" + (i % 3), CallState.values()[i % 5], "connection-" + i);
+        }
+
+        // Superseded generations are deleted once the compacted one is written
+        Path lastGeneration = currentGeneration();
+        assertFalse(lastGeneration.equals(firstGeneration));
+        CallStateJournal recovered = new CallStateJournal(journalFile, 512, RETENTION_MILLIS);
+        Map<String, String> unfinished = recovered.getUnfinishedCalls();
+        assertEquals(3, unfinished.size());
+        assertEquals("connection-199", unfinished.get("call-1"));
+        assertEquals("connection-198", unfinished.get("call-0"));
+        assertEquals("connection-197", unfinished.get("call-2"));
+    }
+
+    @Test
+    void ignoresACorruptRecordAndEverythingAfterIt() throws IOException {
+        CallStateJournal journal = open();
+        journal.append("call-1", CallState.CONNECTING, "connection-1");
+        journal.append("call-2", CallState.CONNECTING, "connection-2");
+        journal.append("call-3", CallState.CONNECTING, "connection-3");
+
+        // Flip the last byte of the second record, as a crash in the middle of writing it would leave it
+        try (FileChannel channel = FileChannel.open(currentGeneration(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long second = 8 + readInt(channel, 0);
+            long lastByte = second + 8 + readInt(channel, second) - 1;
+            ByteBuffer value = ByteBuffer.allocate(1);
+            channel.read(value, lastByte);
+            value.put(0, (byte) (value.get(0) ^ 0xff));
+            channel.write(value.rewind(), lastByte);
+        }
+
+        CallStateJournal recovered = open();
+
+        assertEquals(Map.of("call-1", "connection-1"), recovered.getUnfinishedCalls());
+    }
+
+    @Test
+    void ignoresARecordWhoseLengthWasNotWritten() throws IOException {
+        CallStateJournal journal = open();
+        journal.append("call-1", CallState.CONNECTING, "connection-1");
+        journal.append("call-2", CallState.CONNECTING, "connection-2");
+
+        // The length is written last, so a record cut short by a crash has none
+        try (FileChannel channel = FileChannel.open(currentGeneration(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long second = 8 + readInt(channel, 0);
+            channel.write(ByteBuffer.allocate(4), second);
+        }
+
+        assertEquals(Map.of("call-1", "connection-1"), open().getUnfinishedCalls());
+    }
+
+    @Test
+    void completesAGenerationCutShortWithTheOlderOnes() throws IOException {
+        CallStateJournal journal = open();
+        journal.append("call-1", CallState.CONNECTING, "connection-1");
+        journal.append("call-2", CallState.DISCONNECTED, "connection-2");
+
+        // A compaction that crashed after writing the first record of the next generation
+        Path current = currentGeneration();
+        String name = current.getFileName().toString();
+        long generation = Long.parseLong(name.substring(name.lastIndexOf('.') + 1));
+        byte[] content = Files.readAllBytes(current);
+        int firstRecordSize = 8 + ByteBuffer.wrap(content).getInt(0);
+        byte[] cutShort = new byte[content.length];
+        System.arraycopy(content, 0, cutShort, 0, firstRecordSize);
+        Files.write(directory.resolve("calls.journal." + (generation + 1)), cutShort);
+
+        CallStateJournal recovered = open();
+
+        assertEquals(Map.of("call-1", "connection-1"), recovered.getUnfinishedCalls());
+        assertTrue(recovered.isCompleted("call-2"));
+        assertEquals(directory.resolve("calls.journal." + (generation + 2)), currentGeneration());
+    }
+
+    @Test
+    void redialsAFailedCall() {
+        CallStateJournal journal = open();
+        journal.append("call-1", CallState.FAILED, "connection-1");
+        journal.append("call-2", CallState.DISCONNECTED, "connection-2");
+
+        CallStateJournal recovered = open();
+
+        assertFalse(recovered.isCompleted("call-1"));
+        assertTrue(recovered.isCompleted("call-2"));
+        // A failed call is final, so it is not hung up as a call left by the previous run
+        assertTrue(recovered.getUnfinishedCalls().isEmpty());
+    }
+
+    @Test
+    void forgetsFinishedCallsPastTheRetentionWindow() throws InterruptedException {
+        CallStateJournal journal = new CallStateJournal(journalFile, JOURNAL_SIZE, 0);
+        journal.append("call-1", CallState.DISCONNECTED, "connection-1");
+        journal.append("call-2", CallState.DISCONNECTED, "connection-2");
+        journal.append("call-3", CallState.CONNECTING, "connection-3");
+        Thread.sleep(10);
+
+        CallStateJournal recovered = new CallStateJournal(journalFile, JOURNAL_SIZE, 0);
+
+        assertFalse(recovered.isCompleted("call-1"));
+        assertFalse(recovered.isCompleted("call-2"));
+        // Unfinished calls are kept whatever their age, so they can still be resumed
+        assertEquals(Map.of("call-3", "connection-3"), recovered.getUnfinishedCalls());
+
+        assertTrue(open().getUnfinishedCalls().containsKey("call-3"));
+    }
+}
@@ -0,0 +1,122 @@
+package com.communication.outboundcallreminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogRingBufferTest {
+
+    @Test
+    void roundsTheCapacityUpToAPowerOfTwo() {
+        LogRingBuffer buffer = new LogRingBuffer(5);
+
+        for (int i = 0; i < 8; i++) {
+            assertTrue(buffer.offer("line " + i));
+        }
+        assertFalse(buffer.offer("line 8"));
+    }
+
+    @Test
+    void rejectsLinesWhenFullUntilOneIsTaken() {
+        LogRingBuffer buffer = new LogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer("line " + i));
+        }
+
+        assertFalse(buffer.offer("overflow"));
+        assertEquals("line 0", buffer.poll());
+        assertTrue(buffer.offer("line 4"));
+        assertFalse(buffer.offer("overflow"));
+    }
+
+    @Test
+    void keepsTheOrderAcrossWrapArounds() {
+        LogRingBuffer buffer = new LogRingBuffer(4);
+        int written = 0;
+        int read = 0;
+
+        // Interleave writes and reads so the positions wrap around the slots many times
+        for (int round = 0; round < 100; round++) {
+            while (buffer.offer("line " + written)) {
+                written++;
+            }
+            for (int i = 0; i < 3; i++) {
+                assertEquals("line " + read, buffer.poll());
+                read++;
+            }
+        }
+        String line;
+        while ((line = buffer.poll()) != null) {
+            assertEquals("line " + read, line);
+            read++;
+        }
+
+        assertEquals(written, read);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void isEmptyOnlyOnceEveryLineIsTaken() {
+        LogRingBuffer buffer = new LogRingBuffer(4);
+        assertTrue(buffer.isEmpty());
+        assertNull(buffer.poll());
+
+        buffer.offer("line");
+        assertFalse(buffer.isEmpty());
+        assertEquals("line", buffer.poll());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void deliversEveryLineOfConcurrentWritersOnce() throws InterruptedException {
+        LogRingBuffer buffer = new LogRingBuffer(64);
+        int writers = 4;
+        int linesPerWriter = 5000;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            String prefix = w + ":";
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < linesPerWriter; i++) {
+                    while (!buffer.offer(prefix + i)) {
+                        if (System.nanoTime() > deadline) {
+                            return;
+                        }
+                        Thread.yield();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        // Lines of one writer come out in the order it wrote them
+        int[] next = new int[writers];
+        int received = 0;
+        while (received < writers * linesPerWriter && System.nanoTime() < deadline) {
+            String line = buffer.poll();
+            if (line == null) {
+                Thread.yield();
+                continue;
+            }
+            int separator = line.indexOf(':');
+            int writer = Integer.parseInt(line.substring(0, separator));
+            assertEquals(next[writer], Integer.parseInt(line.substring(separator + 1)));
+            next[writer]++;
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(writers * linesPerWriter, received);
+        assertTrue(buffer.isEmpty());
+    }
+}
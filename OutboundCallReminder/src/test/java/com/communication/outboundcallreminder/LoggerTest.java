@@ -0,0 +1,88 @@
+package com.communication.outboundcallreminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoggerTest {
+
+    private static LogRingBuffer fullBuffer() {
+        LogRingBuffer buffer = new LogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer("line " + i));
+        }
+        return buffer;
+    }
+
+    @Test
+    void dropsTheMessageWhenTheBufferIsFull() {
+        LogRingBuffer buffer = fullBuffer();
+
+        assertFalse(Logger.enqueue(buffer, "dropped", Logger.OverflowPolicy.DROP, null));
+        for (int i = 0; i < 4; i++) {
+            assertEquals("line " + i, buffer.poll());
+        }
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void blocksUntilTheWriterMakesRoom() throws InterruptedException {
+        LogRingBuffer buffer = fullBuffer();
+        AtomicBoolean queued = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            queued.set(Logger.enqueue(buffer, "blocked", Logger.OverflowPolicy.BLOCK, null));
+            done.countDown();
+        });
+        producer.start();
+        try {
+            assertFalse(done.await(100, TimeUnit.MILLISECONDS));
+
+            assertEquals("line 0", buffer.poll());
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        } finally {
+            producer.join(5000);
+        }
+
+        assertTrue(queued.get());
+        for (int i = 1; i < 4; i++) {
+            assertEquals("line " + i, buffer.poll());
+        }
+        assertEquals("blocked", buffer.poll());
+    }
+
+    @Test
+    void neverBlocksTheWriterThreadOnItsOwnMessages() {
+        LogRingBuffer buffer = fullBuffer();
+
+        assertFalse(Logger.enqueue(buffer, "dropped", Logger.OverflowPolicy.BLOCK, Thread.currentThread()));
+    }
+
+    @Test
+    void queuesWithoutWaitingWhileThereIsRoom() {
+        LogRingBuffer buffer = new LogRingBuffer(4);
+
+        assertTrue(Logger.enqueue(buffer, "first", Logger.OverflowPolicy.BLOCK, null));
+        assertTrue(Logger.enqueue(buffer, "second", Logger.OverflowPolicy.DROP, null));
+        assertEquals("first", buffer.poll());
+    }
+
+    @Test
+    void parsesSettingsIgnoringCase() {
+        assertEquals(Logger.MessageType.ERROR, Logger.parseSetting("LogLevel", " error ", Logger.MessageType.INFORMATION));
+        assertEquals(Logger.OverflowPolicy.BLOCK, Logger.parseSetting("LogOverflowPolicy", "Block", Logger.OverflowPolicy.DROP));
+    }
+
+    @Test
+    void fallsBackToTheDefaultOnAnInvalidSetting() {
+        assertEquals(Logger.MessageType.INFORMATION, Logger.parseSetting("LogLevel", "DEBUG", Logger.MessageType.INFORMATION));
+        assertEquals(Logger.OverflowPolicy.DROP, Logger.parseSetting("LogOverflowPolicy", "wait", Logger.OverflowPolicy.DROP));
+    }
+}
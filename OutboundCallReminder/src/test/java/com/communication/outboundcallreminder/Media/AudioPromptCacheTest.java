@@ -0,0 +1,82 @@
+package com.communication.outboundcallreminder.Media;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class AudioPromptCacheTest {
+    private Path directory;
+    private Path promptFile;
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("audio");
+        promptFile = directory.resolve("prompt.wav");
+        Files.write(promptFile, "first prompt".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    private static String text(ByteBuffer content) {
+        byte[] bytes = new byte[content.remaining()];
+        content.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String text(AudioPrompt prompt) {
+        return text(prompt.slice(0, prompt.getLength()));
+    }
+
+    @Test
+    void servesTheSameSnapshotUntilTheFileChanges() {
+        AudioPromptCache cache = new AudioPromptCache(directory);
+        AudioPrompt prompt = cache.get("prompt.wav");
+
+        assertEquals("first prompt", text(prompt));
+        assertSame(prompt, cache.get("prompt.wav"));
+        assertEquals("prompt", text(prompt.slice(6, 12)));
+    }
+
+    @Test
+    void keepsServingTheLoadedSnapshotWhenTheFileIsRewrittenInPlace() throws IOException {
+        AudioPromptCache cache = new AudioPromptCache(directory);
+        AudioPrompt first = cache.get("prompt.wav");
+
+        Files.write(promptFile, "other prompt".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(promptFile, FileTime.fromMillis(first.getLastModifiedMillis() + 1000));
+        AudioPrompt second = cache.get("prompt.wav");
+
+        assertEquals("first prompt", text(first));
+        assertEquals("other prompt", text(second));
+        assertNotEquals(first.getETag(), second.getETag());
+    }
+
+    @Test
+    void refusesFilesOutsideTheAudioDirectory() throws IOException {
+        Files.write(directory.resolveSibling(directory.getFileName() + "-secret.wav"), new byte[] { 1 });
+        AudioPromptCache cache = new AudioPromptCache(directory);
+
+        assertNull(cache.get("../" + directory.getFileName() + "-secret.wav"));
+        assertNull(cache.get("missing.wav"));
+        Files.delete(directory.resolveSibling(directory.getFileName() + "-secret.wav"));
+    }
+}
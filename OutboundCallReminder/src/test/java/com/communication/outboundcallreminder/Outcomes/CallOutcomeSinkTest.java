@@ -0,0 +1,82 @@
+package com.communication.outboundcallreminder.Outcomes;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CallOutcomeSinkTest {
+    private Path outcomeFile;
+
+    @BeforeEach
+    void createFile() throws IOException {
+        outcomeFile = Files.createTempDirectory("outcomes").resolve("outcomes.bin");
+    }
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        Files.deleteIfExists(outcomeFile);
+        Files.deleteIfExists(outcomeFile.getParent());
+    }
+
+    private static void append(FileChannel channel, String targetPhoneNumber) throws IOException {
+        CallOutcome outcome = new CallOutcome();
+        outcome.targetPhoneNumber = targetPhoneNumber;
+        ByteBuffer record = ByteBuffer.allocate(CallOutcome.RECORD_SIZE);
+        outcome.writeTo(record);
+        record.flip();
+        channel.write(record);
+    }
+
+    @Test
+    void writesTheHeaderOfANewFile() throws IOException {
+        try (FileChannel channel = CallOutcomeSink.open(outcomeFile)) {
+            assertEquals(CallOutcomeSink.HEADER_SIZE, channel.position());
+        }
+
+        ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(outcomeFile));
+        assertEquals(CallOutcomeSink.HEADER_SIZE, header.remaining());
+        assertEquals(CallOutcomeSink.MAGIC, header.getInt());
+        assertEquals(CallOutcomeSink.VERSION, header.getInt());
+        assertEquals(CallOutcome.RECORD_SIZE, header.getInt());
+    }
+
+    @Test
+    void appendsAfterTheRecordsOfAPreviousRun() throws IOException {
+        try (FileChannel channel = CallOutcomeSink.open(outcomeFile)) {
+            append(channel, "+14255550101");
+        }
+
+        try (FileChannel channel = CallOutcomeSink.open(outcomeFile)) {
+            assertEquals(CallOutcomeSink.HEADER_SIZE + CallOutcome.RECORD_SIZE, channel.position());
+            append(channel, "+14255550102");
+        }
+
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(outcomeFile));
+        assertEquals("+14255550101", CallOutcome.readFrom(content, CallOutcomeSink.HEADER_SIZE).targetPhoneNumber);
+        assertEquals("+14255550102", CallOutcome.readFrom(content, CallOutcomeSink.HEADER_SIZE + CallOutcome.RECORD_SIZE).targetPhoneNumber);
+    }
+
+    @Test
+    void dropsARecordTornByACrash() throws IOException {
+        try (FileChannel channel = CallOutcomeSink.open(outcomeFile)) {
+            append(channel, "+14255550101");
+        }
+        try (FileChannel channel = FileChannel.open(outcomeFile, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(CallOutcome.RECORD_SIZE / 2));
+        }
+
+        try (FileChannel channel = CallOutcomeSink.open(outcomeFile)) {
+            assertEquals(CallOutcomeSink.HEADER_SIZE + CallOutcome.RECORD_SIZE, channel.size());
+            assertEquals(channel.size(), channel.position());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.communication.outboundcallreminder.Outcomes;
+
+import com.communication.outboundcallreminder.CallState;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CallOutcomeTest {
+
+    private static CallOutcome outcome(String targetPhoneNumber) {
+        CallOutcome outcome = new CallOutcome();
+        outcome.startedAtMillis = 1_700_000_000_123L;
+        outcome.targetPhoneNumber = targetPhoneNumber;
+        outcome.finalState = (byte) CallState.DISCONNECTED.ordinal();
+        outcome.connected = true;
+        outcome.tone = CallOutcome.toneCode("tone1");
+        outcome.transferResult = CallOutcome.TRANSFER_SUCCEEDED;
+        outcome.addParticipantAttempts = 2;
+        outcome.connectMillis = 1500;
+        outcome.playToToneMillis = 4200;
+        outcome.toneToTransferMillis = 800;
+        outcome.totalMillis = 30000;
+        return outcome;
+    }
+
+    @Test
+    void writesFixedSizeRecords() {
+        ByteBuffer buffer = ByteBuffer.allocate(CallOutcome.RECORD_SIZE * 2);
+
+        outcome("+14255550101").writeTo(buffer);
+        assertEquals(CallOutcome.RECORD_SIZE, buffer.position());
+        outcome("+14255550102").writeTo(buffer);
+        assertEquals(2 * CallOutcome.RECORD_SIZE, buffer.position());
+    }
+
+    @Test
+    void readsBackEveryField() {
+        ByteBuffer buffer = ByteBuffer.allocate(CallOutcome.RECORD_SIZE * 2);
+        outcome("+14255550101").writeTo(buffer);
+        outcome("+14255550102").writeTo(buffer);
+
+        CallOutcome read = CallOutcome.readFrom(buffer, CallOutcome.RECORD_SIZE);
+
+        assertEquals(1_700_000_000_123L, read.startedAtMillis);
+        assertEquals("+14255550102", read.targetPhoneNumber);
+        assertEquals((byte) CallState.DISCONNECTED.ordinal(), read.finalState);
+        assertTrue(read.connected);
+        assertEquals((byte) '1', read.tone);
+        assertEquals(CallOutcome.TRANSFER_SUCCEEDED, read.transferResult);
+        assertEquals((byte) 2, read.addParticipantAttempts);
+        assertEquals(1500, read.connectMillis);
+        assertEquals(4200, read.playToToneMillis);
+        assertEquals(800, read.toneToTransferMillis);
+        assertEquals(30000, read.totalMillis);
+    }
+
+    @Test
+    void keepsThePhasesThatDidNotHappen() {
+        ByteBuffer buffer = ByteBuffer.allocate(CallOutcome.RECORD_SIZE);
+        CallOutcome failed = new CallOutcome();
+        failed.targetPhoneNumber = "+14255550101";
+        failed.writeTo(buffer);
+
+        CallOutcome read = CallOutcome.readFrom(buffer, 0);
+
+        assertFalse(read.connected);
+        assertEquals(0, read.tone);
+        assertEquals(CallOutcome.TRANSFER_NOT_ATTEMPTED, read.transferResult);
+        assertEquals(-1, read.connectMillis);
+        assertEquals(-1, read.totalMillis);
+    }
+
+    @Test
+    void truncatesATargetLongerThanItsField() {
+        ByteBuffer buffer = ByteBuffer.allocate(CallOutcome.RECORD_SIZE);
+        outcome("+1425555010123456789").writeTo(buffer);
+
+        assertEquals(CallOutcome.RECORD_SIZE, buffer.position());
+        assertEquals("+142555501012345", CallOutcome.readFrom(buffer, 0).targetPhoneNumber);
+    }
+
+    @Test
+    void mapsToneNamesToKeys() {
+        assertEquals((byte) '0', CallOutcome.toneCode("tone0"));
+        assertEquals((byte) '9', CallOutcome.toneCode("tone9"));
+        assertEquals((byte) '*', CallOutcome.toneCode("star"));
+        assertEquals((byte) '#', CallOutcome.toneCode("pound"));
+        assertEquals((byte) 'A', CallOutcome.toneCode("a"));
+        assertEquals(0, CallOutcome.toneCode(null));
+        assertEquals(0, CallOutcome.toneCode(""));
+    }
+}
@@ -0,0 +1,81 @@
+package com.communication.outboundcallreminder.Scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static void openAfterPeriod() throws InterruptedException {
+        Thread.sleep(80);
+    }
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(2, 50, TimeUnit.MILLISECONDS);
+
+        circuitBreaker.recordFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.allowRequest());
+
+        circuitBreaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    void successResetsTheFailureCount() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(2, 50, TimeUnit.MILLISECONDS);
+
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void letsOneTrialThroughAfterTheOpenPeriod() throws InterruptedException {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, 50, TimeUnit.MILLISECONDS);
+        circuitBreaker.recordFailure();
+        openAfterPeriod();
+
+        assertTrue(circuitBreaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest());
+
+        circuitBreaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    void reopensWhenTheTrialFails() throws InterruptedException {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(3, 50, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.recordFailure();
+        }
+        openAfterPeriod();
+        assertTrue(circuitBreaker.allowRequest());
+
+        // A single failed trial is enough, whatever the threshold
+        circuitBreaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    void retriesATrialThatNeverReportedBack() throws InterruptedException {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, 50, TimeUnit.MILLISECONDS);
+        circuitBreaker.recordFailure();
+        openAfterPeriod();
+        assertTrue(circuitBreaker.allowRequest());
+
+        openAfterPeriod();
+        assertTrue(circuitBreaker.allowRequest());
+    }
+}
@@ -0,0 +1,71 @@
+package com.communication.outboundcallreminder.Scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetrySchedulerTest {
+    private final RetryScheduler retryScheduler = new RetryScheduler(1, 10, 3, 60);
+
+    private static boolean await(CompletableFuture<Boolean> result) throws Exception {
+        return result.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void retriesUntilAnAttemptSucceeds() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        boolean succeeded = await(retryScheduler.execute("target", (attempt) -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.completedFuture(attempt == 2);
+        }, 5));
+
+        assertTrue(succeeded);
+        assertEquals(3, attempts.get());
+        Map<String, Object> metrics = retryScheduler.getMetrics();
+        assertEquals(3L, metrics.get("attempts"));
+        assertEquals(2L, metrics.get("retries"));
+        assertEquals(1L, metrics.get("succeeded"));
+        assertEquals(CircuitBreaker.State.CLOSED, retryScheduler.getCircuitState("target"));
+    }
+
+    @Test
+    void countsExceptionsAsFailedAttempts() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        boolean succeeded = await(retryScheduler.execute("target", (attempt) -> {
+            attempts.incrementAndGet();
+            if (attempt == 0) {
+                throw new IllegalStateException("thrown");
+            }
+            return CompletableFuture.failedFuture(new IllegalStateException("failed"));
+        }, 1));
+
+        assertFalse(succeeded);
+        assertEquals(2, attempts.get());
+        assertEquals(1L, retryScheduler.getMetrics().get("exhausted"));
+    }
+
+    @Test
+    void stopsCallingATargetOnceItsCircuitIsOpen() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertFalse(await(retryScheduler.execute("failing", (attempt) -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.completedFuture(false);
+        }, 10)));
+
+        assertEquals(3, attempts.get());
+        assertEquals(CircuitBreaker.State.OPEN, retryScheduler.getCircuitState("failing"));
+        assertEquals(1L, retryScheduler.getMetrics().get("circuitOpenRejections"));
+
+        assertTrue(await(retryScheduler.execute("other", (attempt) -> CompletableFuture.completedFuture(true), 0)));
+    }
+}
@@ -0,0 +1,61 @@
+package com.communication.outboundcallreminder.Scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    @Test
+    void handsOutOnePermitPerInterval() {
+        TokenBucket bucket = new TokenBucket(10, 1);
+
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void buildsUpAtMostBurstPermitsWhileIdle() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(10, 3);
+        Thread.sleep(600);
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void reservesPermitsAheadOfTime() {
+        TokenBucket bucket = new TokenBucket(10, 1);
+
+        assertEquals(0, bucket.reserve());
+        long waitNanos = bucket.reserve();
+        assertTrue(waitNanos > TimeUnit.MILLISECONDS.toNanos(50) && waitNanos <= TimeUnit.MILLISECONDS.toNanos(100));
+        // A reservation takes the permit, so the next one waits a further interval
+        assertTrue(bucket.reserve() > TimeUnit.MILLISECONDS.toNanos(150));
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void appliesARateChange() {
+        TokenBucket bucket = new TokenBucket(10, 1);
+        assertEquals(10, bucket.getRate(), 0.001);
+
+        bucket.setRate(1000);
+        assertEquals(1000, bucket.getRate(), 0.001);
+        bucket.reserve();
+        assertTrue(bucket.reserve() <= TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    void rejectsANonPositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(10, 1).setRate(-1));
+    }
+}